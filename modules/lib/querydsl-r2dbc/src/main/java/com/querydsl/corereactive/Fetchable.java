@@ -1,6 +1,7 @@
 package com.querydsl.corereactive;
 
 import com.querydsl.core.Query;
+import com.querydsl.core.QueryResults;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -32,10 +33,32 @@ public interface Fetchable<T> {
     /**
      * Get the projection as a unique result.
      * Consuming the result produces {@link NullPointerException} if the value is null.
-     * Consuming the result produces {@link IndexOutOfBoundsException} if there is more than one matching result
+     * Consuming the result produces {@link com.querydsl.core.NonUniqueResultException} if there is more than one
+     * matching result, at most two rows are fetched.
      * @return first result
      * @see com.querydsl.corereactive.types.dsl.OptionalExpression
      */
     Mono<T> fetchOne();
 
+    /**
+     * Get whether the projection has any result.
+     * No columns of the projection are fetched.
+     * @return true if there is at least one matching result
+     */
+    Mono<Boolean> fetchExists();
+
+    /**
+     * Get the count of matched elements
+     * @return row count
+     */
+    Mono<Long> fetchCount();
+
+    /**
+     * Get the projection in {@link QueryResults} form.
+     * Consuming the result produces {@link NullPointerException} if a value is null.
+     * @return results
+     * @see com.querydsl.corereactive.types.dsl.OptionalExpression
+     */
+    Mono<QueryResults<T>> fetchResults();
+
 }
@@ -1,6 +1,5 @@
 package com.querydsl.corereactive;
 
-import com.querydsl.core.ResultTransformer;
 import com.querydsl.core.SimpleQuery;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
@@ -0,0 +1,21 @@
+package com.querydsl.corereactive;
+
+/**
+ * Executes a query on a {@link FetchableQuery} and transforms the results to the reactive type {@code T}
+ *
+ * @param <T> transformation target type, typically a {@link reactor.core.publisher.Flux}
+ *           or a {@link reactor.core.publisher.Mono}
+ * @see com.querydsl.corereactive.group.GroupBy
+ */
+@FunctionalInterface
+public interface ResultTransformer<T> {
+
+    /**
+     * Execute the given query and transform the results
+     *
+     * @param query query
+     * @return transformed results
+     */
+    T transform(FetchableQuery<?, ?> query);
+
+}
@@ -0,0 +1,91 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.group.Group;
+import com.querydsl.core.group.GroupExpression;
+import com.querydsl.core.group.QPair;
+import com.querydsl.core.types.*;
+import com.querydsl.corereactive.FetchableQuery;
+import com.querydsl.corereactive.ResultTransformer;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the group by transformers
+ *
+ * @param <K> key type
+ * @param <T> transformation target type
+ */
+abstract class AbstractGroupByTransformer<K, T> implements ResultTransformer<T> {
+
+    protected final List<GroupExpression<?, ?>> groupExpressions = new ArrayList<>();
+
+    protected final List<QPair<?, ?>> maps = new ArrayList<>();
+
+    private final Expression<?>[] expressions;
+
+    AbstractGroupByTransformer(Expression<K> key, Expression<?>... expressions) {
+        List<Expression<?>> projection = new ArrayList<>(expressions.length + 1);
+        groupExpressions.add(new GOne<>(key));
+        projection.add(key);
+        for (Expression<?> expr : expressions) {
+            if (expr instanceof GroupExpression) {
+                GroupExpression<?, ?> groupExpr = (GroupExpression<?, ?>) expr;
+                groupExpressions.add(groupExpr);
+                Expression<?> colExpression = groupExpr.getExpression();
+                if (colExpression instanceof Operation && ((Operation<?>) colExpression).getOperator() == Ops.ALIAS) {
+                    projection.add(((Operation<?>) colExpression).getArg(0));
+                } else {
+                    projection.add(colExpression);
+                }
+                if (colExpression instanceof QPair) {
+                    maps.add((QPair<?, ?>) colExpression);
+                }
+            } else {
+                groupExpressions.add(new GOne<>(expr));
+                projection.add(expr);
+            }
+        }
+        this.expressions = projection.toArray(new Expression<?>[0]);
+    }
+
+    /**
+     * Select the columns of the groups and fetch the rows
+     *
+     * @param query query
+     * @return values of the rows, the key is the first value
+     */
+    protected Flux<Object[]> fetchRows(FetchableQuery<?, ?> query) {
+        return query.select(Projections.tuple(expressions))
+                .fetch()
+                .map(Tuple::toArray);
+    }
+
+    /**
+     * Create an empty group
+     *
+     * @return group
+     */
+    protected GroupImpl createGroup() {
+        return new GroupImpl(groupExpressions, maps);
+    }
+
+    /**
+     * Create the values of the given factory expression from the given group
+     *
+     * @param transformation factory expression
+     * @param group group
+     * @param <V> value type
+     * @return created value
+     */
+    protected <V> V newInstance(FactoryExpression<V> transformation, Group group) {
+        Object[] args = new Object[groupExpressions.size() - 1];
+        for (int i = 1; i < groupExpressions.size(); i++) {
+            args[i - 1] = group.getGroup(groupExpressions.get(i));
+        }
+        return transformation.newInstance(args);
+    }
+
+}
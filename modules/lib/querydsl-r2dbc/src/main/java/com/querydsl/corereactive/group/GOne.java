@@ -0,0 +1,45 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.group.AbstractGroupExpression;
+import com.querydsl.core.group.GroupCollector;
+import com.querydsl.core.types.Expression;
+
+/**
+ * {@link GOne} collects the first value of the group
+ *
+ * @param <T> value type
+ */
+final class GOne<T> extends AbstractGroupExpression<T, T> {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("unchecked")
+    GOne(Expression<T> expr) {
+        super((Class<? super T>) expr.getType(), expr);
+    }
+
+    @Override
+    public GroupCollector<T, T> createGroupCollector() {
+        return new GroupCollector<T, T>() {
+
+            private boolean first = true;
+
+            private T value;
+
+            @Override
+            public void add(T o) {
+                if (first) {
+                    value = o;
+                    first = false;
+                }
+            }
+
+            @Override
+            public T get() {
+                return value;
+            }
+
+        };
+    }
+
+}
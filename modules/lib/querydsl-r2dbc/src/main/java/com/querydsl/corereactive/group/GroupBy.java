@@ -0,0 +1,168 @@
+package com.querydsl.corereactive.group;
+
+import com.mysema.commons.lang.Pair;
+import com.querydsl.core.group.AbstractGroupExpression;
+import com.querydsl.core.group.GroupExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+
+import java.util.*;
+
+/**
+ * {@code GroupBy} provides factory methods for the reactive
+ * {@link com.querydsl.corereactive.ResultTransformer} and the group expressions.
+ * The group expressions are the ones of {@link com.querydsl.core.group.GroupBy}.
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * Flux<Post> posts = query.from(post)
+ *     .innerJoin(post.comments, comment)
+ *     .orderBy(post.id.asc())
+ *     .transform(groupBy(post.id).list(Projections.constructor(Post.class, post.name, list(comment.text))));
+ * }</pre>
+ */
+public final class GroupBy {
+
+    private GroupBy() {
+    }
+
+    /**
+     * Create a new group by builder for the given key expression
+     *
+     * @param key key for aggregation
+     * @param <K> key type
+     * @return builder for further specification
+     */
+    public static <K> GroupByBuilder<K> groupBy(Expression<K> key) {
+        return new GroupByBuilder<>(key);
+    }
+
+    /**
+     * Create a new group by builder for the given key expressions
+     *
+     * @param keys keys for aggregation
+     * @return builder for further specification
+     */
+    public static GroupByBuilder<List<?>> groupBy(Expression<?>... keys) {
+        return new GroupByBuilder<>(Projections.list(keys));
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#min(Expression)
+     */
+    public static <E extends Comparable<? super E>> AbstractGroupExpression<E, E> min(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.min(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#max(Expression)
+     */
+    public static <E extends Comparable<? super E>> AbstractGroupExpression<E, E> max(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.max(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#sum(Expression)
+     */
+    public static <E extends Number> AbstractGroupExpression<E, E> sum(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.sum(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#avg(Expression)
+     */
+    public static <E extends Number> AbstractGroupExpression<E, E> avg(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.avg(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#list(Expression)
+     */
+    public static <E> AbstractGroupExpression<E, List<E>> list(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.list(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#list(GroupExpression)
+     */
+    public static <E, F> AbstractGroupExpression<E, List<F>> list(GroupExpression<E, F> groupExpression) {
+        return com.querydsl.core.group.GroupBy.list(groupExpression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#set(Expression)
+     */
+    public static <E> AbstractGroupExpression<E, Set<E>> set(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.set(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#set(GroupExpression)
+     */
+    public static <E, F> GroupExpression<E, Set<F>> set(GroupExpression<E, F> groupExpression) {
+        return com.querydsl.core.group.GroupBy.set(groupExpression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#sortedSet(Expression)
+     */
+    public static <E extends Comparable<? super E>> AbstractGroupExpression<E, SortedSet<E>> sortedSet(Expression<E> expression) {
+        return com.querydsl.core.group.GroupBy.sortedSet(expression);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#sortedSet(Expression, Comparator)
+     */
+    public static <E> AbstractGroupExpression<E, SortedSet<E>> sortedSet(Expression<E> expression,
+                                                                         Comparator<? super E> comparator) {
+        return com.querydsl.core.group.GroupBy.sortedSet(expression, comparator);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#map(Expression, Expression)
+     */
+    public static <K, V> AbstractGroupExpression<Pair<K, V>, Map<K, V>> map(Expression<K> key, Expression<V> value) {
+        return com.querydsl.core.group.GroupBy.map(key, value);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#map(GroupExpression, Expression)
+     */
+    public static <K, V, T> AbstractGroupExpression<Pair<K, V>, Map<T, V>> map(GroupExpression<K, T> key,
+                                                                               Expression<V> value) {
+        return com.querydsl.core.group.GroupBy.map(key, value);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#map(Expression, GroupExpression)
+     */
+    public static <K, V, U> AbstractGroupExpression<Pair<K, V>, Map<K, U>> map(Expression<K> key,
+                                                                               GroupExpression<V, U> value) {
+        return com.querydsl.core.group.GroupBy.map(key, value);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#map(GroupExpression, GroupExpression)
+     */
+    public static <K, V, T, U> AbstractGroupExpression<Pair<K, V>, Map<T, U>> map(GroupExpression<K, T> key,
+                                                                                  GroupExpression<V, U> value) {
+        return com.querydsl.core.group.GroupBy.map(key, value);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#sortedMap(Expression, Expression)
+     */
+    public static <K extends Comparable<? super K>, V> AbstractGroupExpression<Pair<K, V>, SortedMap<K, V>> sortedMap(
+            Expression<K> key, Expression<V> value) {
+        return com.querydsl.core.group.GroupBy.sortedMap(key, value);
+    }
+
+    /**
+     * @see com.querydsl.core.group.GroupBy#sortedMap(Expression, Expression, Comparator)
+     */
+    public static <K, V> AbstractGroupExpression<Pair<K, V>, SortedMap<K, V>> sortedMap(
+            Expression<K> key, Expression<V> value, Comparator<? super K> comparator) {
+        return com.querydsl.core.group.GroupBy.sortedMap(key, value, comparator);
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.group.Group;
+import com.querydsl.core.group.GroupExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.FactoryExpressionUtils;
+import com.querydsl.corereactive.ResultTransformer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GroupByBuilder} is a fluent builder for the reactive group by transformers.
+ * The {@code list} transformers stream the groups of a result sorted by the key,
+ * the {@code as} transformers collect the groups of any result into a map.
+ *
+ * @param <K> key type
+ * @see GroupBy
+ */
+public class GroupByBuilder<K> {
+
+    private final Expression<K> key;
+
+    public GroupByBuilder(Expression<K> key) {
+        this.key = key;
+    }
+
+    /**
+     * Get the results as a map of the groups
+     *
+     * @param expressions projection of the groups
+     * @return new result transformer
+     */
+    public ResultTransformer<Mono<Map<K, Group>>> as(Expression<?>... expressions) {
+        return new GroupByMap<>(key, expressions);
+    }
+
+    /**
+     * Get the results as a flux of the groups. The rows must be sorted by the key.
+     *
+     * @param expressions projection of the groups
+     * @return new result transformer
+     */
+    public ResultTransformer<Flux<Group>> list(Expression<?>... expressions) {
+        return new GroupByList<>(key, expressions);
+    }
+
+    /**
+     * Get the results as a map of the values
+     *
+     * @param expression projection of the groups
+     * @param <V> value type
+     * @return new result transformer
+     */
+    public <V> ResultTransformer<Mono<Map<K, V>>> as(Expression<V> expression) {
+        Expression<V> lookup = getLookup(expression);
+        return new GroupByMap<K, V>(key, expression) {
+
+            @Override
+            protected Map<K, V> transform(Map<K, Group> groups) {
+                Map<K, V> results = new LinkedHashMap<>((int) Math.ceil(groups.size() / 0.75), 0.75f);
+                groups.forEach((key, group) -> results.put(key, group.getOne(lookup)));
+                return results;
+            }
+
+        };
+    }
+
+    /**
+     * Get the results as a flux of the values. The rows must be sorted by the key.
+     *
+     * @param expression projection of the groups
+     * @param <V> value type
+     * @return new result transformer
+     */
+    public <V> ResultTransformer<Flux<V>> list(Expression<V> expression) {
+        Expression<V> lookup = getLookup(expression);
+        return new GroupByList<K, V>(key, expression) {
+
+            @Override
+            protected V transform(Group group) {
+                return group.getOne(lookup);
+            }
+
+        };
+    }
+
+    /**
+     * Get the results as a map of the created values
+     *
+     * @param expression projection of the groups
+     * @param <V> value type
+     * @return new result transformer
+     */
+    public <V> ResultTransformer<Mono<Map<K, V>>> as(FactoryExpression<V> expression) {
+        FactoryExpression<V> transformation = FactoryExpressionUtils.wrap(expression);
+        List<Expression<?>> args = transformation.getArgs();
+        return new GroupByMap<K, V>(key, args.toArray(new Expression<?>[0])) {
+
+            @Override
+            protected Map<K, V> transform(Map<K, Group> groups) {
+                Map<K, V> results = new LinkedHashMap<>((int) Math.ceil(groups.size() / 0.75), 0.75f);
+                groups.forEach((key, group) -> results.put(key, newInstance(transformation, group)));
+                return results;
+            }
+
+        };
+    }
+
+    /**
+     * Get the results as a flux of the created values. The rows must be sorted by the key.
+     *
+     * @param expression projection of the groups
+     * @param <V> value type
+     * @return new result transformer
+     */
+    public <V> ResultTransformer<Flux<V>> list(FactoryExpression<V> expression) {
+        FactoryExpression<V> transformation = FactoryExpressionUtils.wrap(expression);
+        List<Expression<?>> args = transformation.getArgs();
+        return new GroupByList<K, V>(key, args.toArray(new Expression<?>[0])) {
+
+            @Override
+            protected V transform(Group group) {
+                return newInstance(transformation, group);
+            }
+
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Expression<V> getLookup(Expression<V> expression) {
+        if (expression instanceof GroupExpression) {
+            return (Expression<V>) ((GroupExpression<?, ?>) expression).getExpression();
+        }
+        return expression;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.group.Group;
+import com.querydsl.core.types.Expression;
+import com.querydsl.corereactive.FetchableQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * {@link GroupByList} emits the groups of rows which are sorted by the key. A group is emitted
+ * as soon as a row with a different key is received, so only the current group is held in memory.
+ * Rows of the same key which are not adjacent produce separate groups.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class GroupByList<K, V> extends AbstractGroupByTransformer<K, Flux<V>> {
+
+    GroupByList(Expression<K> key, Expression<?>... expressions) {
+        super(key, expressions);
+    }
+
+    @Override
+    public Flux<V> transform(FetchableQuery<?, ?> query) {
+        Flux<Object[]> rows = fetchRows(query);
+        return Flux.defer(() -> {
+            Groups groups = new Groups();
+            return rows
+                    .<V>handle((row, sink) -> {
+                        Group completed = groups.add(row);
+                        if (completed != null) {
+                            sink.next(transform(completed));
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(groups::complete).map(this::transform));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    protected V transform(Group group) {
+        return (V) group;
+    }
+
+    private final class Groups {
+
+        @Nullable
+        private GroupImpl group;
+
+        @Nullable
+        private Object groupId;
+
+        @Nullable
+        Group add(Object[] row) {
+            Group completed = null;
+            if (group == null || !Objects.equals(groupId, row[0])) {
+                completed = group;
+                group = createGroup();
+                groupId = row[0];
+            }
+            group.add(row);
+            return completed;
+        }
+
+        @Nullable
+        Group complete() {
+            Group completed = group;
+            group = null;
+            return completed;
+        }
+
+    }
+
+}
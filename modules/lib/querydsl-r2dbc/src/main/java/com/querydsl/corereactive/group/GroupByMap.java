@@ -0,0 +1,41 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.group.Group;
+import com.querydsl.core.types.Expression;
+import com.querydsl.corereactive.FetchableQuery;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link GroupByMap} collects all groups into a map. The rows are not required to be sorted by the key,
+ * but the whole result is held in memory, see {@link GroupByList} for streaming.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class GroupByMap<K, V> extends AbstractGroupByTransformer<K, Mono<Map<K, V>>> {
+
+    GroupByMap(Expression<K> key, Expression<?>... expressions) {
+        super(key, expressions);
+    }
+
+    @Override
+    public Mono<Map<K, V>> transform(FetchableQuery<?, ?> query) {
+        return fetchRows(query)
+                .collect(LinkedHashMap<K, Group>::new, this::add)
+                .map(this::transform);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(Map<K, Group> groups, Object[] row) {
+        ((GroupImpl) groups.computeIfAbsent((K) row[0], key -> createGroup())).add(row);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Map<K, V> transform(Map<K, Group> groups) {
+        return (Map<K, V>) groups;
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.querydsl.corereactive.group;
+
+import com.querydsl.core.group.Group;
+import com.querydsl.core.group.GroupCollector;
+import com.querydsl.core.group.GroupExpression;
+import com.querydsl.core.group.QPair;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+
+import java.util.*;
+
+/**
+ * {@link GroupImpl} collects the rows of a single group
+ */
+@SuppressWarnings("unchecked")
+final class GroupImpl implements Group {
+
+    private final Map<Expression<?>, GroupCollector<?, ?>> groupCollectorMap = new LinkedHashMap<>();
+
+    private final List<GroupExpression<?, ?>> groupExpressions;
+
+    private final List<GroupCollector<?, ?>> groupCollectors = new ArrayList<>();
+
+    private final List<QPair<?, ?>> maps;
+
+    GroupImpl(List<GroupExpression<?, ?>> groupExpressions, List<QPair<?, ?>> maps) {
+        this.groupExpressions = groupExpressions;
+        this.maps = maps;
+        for (GroupExpression<?, ?> definition : groupExpressions) {
+            Expression<?> expr = definition.getExpression();
+            GroupCollector<?, ?> collector = groupCollectorMap.get(expr);
+            if (collector == null) {
+                collector = definition.createGroupCollector();
+                groupCollectorMap.put(expr, collector);
+                if (expr instanceof Operation && ((Operation<?>) expr).getOperator() == Ops.ALIAS) {
+                    groupCollectorMap.put(((Operation<?>) expr).getArg(1), collector);
+                }
+            }
+            groupCollectors.add(collector);
+        }
+    }
+
+    void add(Object[] row) {
+        for (int i = 0; i < groupCollectors.size(); i++) {
+            ((GroupCollector<Object, ?>) groupCollectors.get(i)).add(row[i]);
+        }
+    }
+
+    private <R> R get(Expression<?> expr) {
+        GroupCollector<?, ?> collector = groupCollectorMap.get(expr);
+        if (collector == null) {
+            throw new NoSuchElementException(expr.toString());
+        }
+        return (R) collector.get();
+    }
+
+    @Override
+    public <T, R> R getGroup(GroupExpression<T, R> definition) {
+        for (GroupExpression<?, ?> def : groupExpressions) {
+            if (def.equals(definition)) {
+                return (R) groupCollectorMap.get(def.getExpression()).get();
+            }
+        }
+        throw new NoSuchElementException(definition.toString());
+    }
+
+    @Override
+    public <T> List<T> getList(Expression<T> expr) {
+        return get(expr);
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(Expression<K> key, Expression<V> value) {
+        return get(getPair(key, value));
+    }
+
+    @Override
+    public <K, V> SortedMap<K, V> getSortedMap(Expression<K> key, Expression<V> value) {
+        return get(getPair(key, value));
+    }
+
+    private QPair<?, ?> getPair(Expression<?> key, Expression<?> value) {
+        for (QPair<?, ?> pair : maps) {
+            if (pair.equals(key, value)) {
+                return pair;
+            }
+        }
+        throw new NoSuchElementException("GMap(" + key + ", " + value + ")");
+    }
+
+    @Override
+    public <T> T getOne(Expression<T> expr) {
+        return get(expr);
+    }
+
+    @Override
+    public <T> Set<T> getSet(Expression<T> expr) {
+        return get(expr);
+    }
+
+    @Override
+    public <T> SortedSet<T> getSortedSet(Expression<T> expr) {
+        return get(expr);
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] values = new Object[groupCollectors.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = groupCollectors.get(i).get();
+        }
+        return values;
+    }
+
+}
@@ -1,12 +1,15 @@
 package com.querydsl.corereactive.support;
 
 
-import com.querydsl.core.FetchableQuery;
-import com.querydsl.core.ResultTransformer;
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.QueryResults;
 import com.querydsl.core.support.QueryBase;
 import com.querydsl.core.support.QueryMixin;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.corereactive.Fetchable;
+import com.querydsl.corereactive.FetchableQuery;
+import com.querydsl.corereactive.ResultTransformer;
 import reactor.core.publisher.Mono;
 
 /**
@@ -31,7 +34,22 @@ public abstract class FetchableQueryBase<T, Q extends FetchableQueryBase<T, Q>>
 
     @Override
     public Mono<T> fetchOne() {
-        return fetch().singleOrEmpty();
+        Long limit = queryMixin.getMetadata().getModifiers().getLimit();
+        if (limit == null || limit > 2) {
+            limit(2);
+        }
+        return fetch()
+                .take(2)
+                .reduce((first, second) -> {
+                    throw new NonUniqueResultException();
+                });
+    }
+
+    @Override
+    public Mono<QueryResults<T>> fetchResults() {
+        QueryModifiers modifiers = queryMixin.getMetadata().getModifiers();
+        return Mono.zip(fetchCount(), fetch().collectList())
+                .map(result -> new QueryResults<>(result.getT2(), modifiers, result.getT1()));
     }
 
     public <T> T transform(ResultTransformer<T> transformer) {
@@ -0,0 +1,158 @@
+package com.querydsl.r2dbc;
+
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * {@link AbstractR2dbcGroup} is the base type of groups of independent queries and clauses,
+ * which are executed together once, when {@link #execute()} or any of the results is subscribed.
+ *
+ * <p>The results are buffered and emitted when the whole group is completed, so the groups are intended
+ * for small results. A failure of a query or clause fails only its own result.</p>
+ *
+ * <p>The subscribers are counted. When all the subscribers of a result cancel, its query or clause is
+ * cancelled, which releases its connection, and the result fails with a {@link CancellationException}.
+ * When all the subscribers of the group cancel, the whole group is cancelled.</p>
+ */
+public abstract class AbstractR2dbcGroup {
+
+    private static final class Member<T> {
+
+        private final MonoProcessor<Void> cancellation = MonoProcessor.create();
+
+        private final Flux<T> result;
+
+        private int subscribers;
+
+        private Member(Publisher<T> result) {
+            // the buffer does not cancel its source, the source is cancelled by the cancellation instead,
+            // and it is not subscribed at all if the result is cancelled before its execution
+            this.result = Flux.defer(() -> cancellation.isTerminated()
+                    ? Flux.<T>error(cancelled())
+                    : Flux.from(result)
+                            .takeUntilOther(cancellation)
+                            .concatWith(Mono.defer(() -> cancellation.isTerminated()
+                                    ? Mono.error(cancelled())
+                                    : Mono.empty())))
+                    .cache();
+        }
+
+        private static CancellationException cancelled() {
+            return new CancellationException("Result is cancelled");
+        }
+
+    }
+
+    protected final R2dbcConnectionProvider connProvider;
+
+    private final List<Member<?>> members = new ArrayList<>();
+
+    private final MonoProcessor<Void> completion = MonoProcessor.create();
+
+    private Disposable execution;
+
+    private int subscribers;
+
+    protected AbstractR2dbcGroup(R2dbcConnectionProvider connProvider) {
+        this.connProvider = connProvider;
+    }
+
+    /**
+     * Add the result of a query or clause, for example {@code fetch()} of a query
+     *
+     * @param result result of the query or clause, not subscribed yet
+     * @param <T> type of the result
+     * @return result of the group
+     */
+    public <T> Flux<T> add(Flux<T> result) {
+        Member<T> member = register(result);
+        return Flux.defer(() -> {
+            subscribe(member);
+            return completion.onErrorResume(error -> Mono.empty()).thenMany(member.result);
+        }).doFinally(signal -> unsubscribe(member));
+    }
+
+    /**
+     * Add the result of a query or clause, for example {@code fetchCount()} of a query
+     * or {@code execute()} of a clause
+     *
+     * @param result result of the query or clause, not subscribed yet
+     * @param <T> type of the result
+     * @return result of the group
+     */
+    public <T> Mono<T> add(Mono<T> result) {
+        Member<T> member = register(result);
+        return Mono.defer(() -> {
+            subscribe(member);
+            return completion.onErrorResume(error -> Mono.empty()).then(member.result.singleOrEmpty());
+        }).doFinally(signal -> unsubscribe(member));
+    }
+
+    private synchronized <T> Member<T> register(Publisher<T> result) {
+        if (execution != null) {
+            throw new IllegalStateException("Group is already executed");
+        }
+        Member<T> member = new Member<>(result);
+        members.add(member);
+        return member;
+    }
+
+    /**
+     * Execute the group
+     *
+     * @return completion of the group, fails if any of the queries and clauses fails
+     */
+    public Mono<Void> execute() {
+        return Mono.defer(() -> {
+            subscribe(null);
+            return completion;
+        }).doFinally(signal -> unsubscribe(null));
+    }
+
+    private synchronized void subscribe(Member<?> member) {
+        subscribers++;
+        if (member != null) {
+            member.subscribers++;
+        }
+        if (execution == null) {
+            List<Flux<?>> results = new ArrayList<>(members.size());
+            for (Member<?> m : members) {
+                results.add(m.result);
+            }
+            execution = execute(Collections.unmodifiableList(results)).subscribeWith(completion);
+        }
+    }
+
+    private synchronized void unsubscribe(Member<?> member) {
+        subscribers--;
+        if (completion.isTerminated()) {
+            return;
+        }
+        if (member != null && --member.subscribers == 0) {
+            member.cancellation.onComplete();
+        }
+        if (subscribers == 0) {
+            for (Member<?> m : members) {
+                m.cancellation.onComplete();
+            }
+            execution.dispose();
+        }
+    }
+
+    /**
+     * Subscribe the given results, which are cached, so each of them is executed only once
+     *
+     * @param results results of the added queries and clauses in the order of addition
+     * @return completion of all the results, delaying the errors
+     */
+    protected abstract Mono<Void> execute(List<Flux<?>> results);
+
+}
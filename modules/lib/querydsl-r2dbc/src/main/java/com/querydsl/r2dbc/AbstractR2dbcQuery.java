@@ -1,31 +1,35 @@
 package com.querydsl.r2dbc;
 
-import com.google.common.collect.Lists;
 import com.querydsl.core.DefaultQueryMetadata;
 import com.querydsl.core.QueryException;
 import com.querydsl.core.QueryFlag;
 import com.querydsl.core.QueryMetadata;
-import com.querydsl.core.support.QueryMixin;
-import com.querydsl.core.types.Expression;
-import com.querydsl.core.types.FactoryExpression;
-import com.querydsl.core.types.Path;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.*;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.SimpleExpression;
 import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.corereactive.types.dsl.OptionalExpression;
-import com.querydsl.r2dbc.internal.R2dbcUtils;
+import com.querydsl.r2dbc.internal.QueryShape;
 import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLExpressions;
 import com.querydsl.sql.SQLSerializer;
 import com.querydsl.sql.SQLTemplates;
 import io.r2dbc.spi.*;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import javax.annotation.Nonnull;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * {@link AbstractR2dbcQuery} is the base type for SQL query implementations
@@ -40,12 +44,16 @@ public abstract class AbstractR2dbcQuery<T, Q extends AbstractR2dbcQuery<T, Q>>
 
     protected boolean useLiterals;
 
+    protected boolean useArrayParameters;
+
+    protected boolean useInListPadding;
+
     public AbstractR2dbcQuery(R2dbcConnectionProvider connProvider, Configuration configuration) {
         this(connProvider, configuration, new DefaultQueryMetadata());
     }
 
     public AbstractR2dbcQuery(R2dbcConnectionProvider connProvider, Configuration configuration, QueryMetadata metadata) {
-        super(new QueryMixin<Q>(metadata, false), configuration);
+        super(new R2dbcQueryMixin<Q>(metadata), configuration);
         this.connProvider = connProvider;
         this.useLiterals = configuration.getUseLiterals();
     }
@@ -128,10 +136,31 @@ public abstract class AbstractR2dbcQuery<T, Q extends AbstractR2dbcQuery<T, Q>>
         throw new QueryException("Using forShare() is not supported");
     }
 
+    @Override
+    protected boolean isCacheable() {
+        return !useLiterals && super.isCacheable();
+    }
+
+    @Override
+    protected QueryShape createQueryShape(QueryMetadata metadata) {
+        return QueryShape.of(metadata, configuration.getTemplates(), useArrayParameters, useInListPadding);
+    }
+
+    @Override
+    protected String getCacheKeyPrefix(boolean forCountRow) {
+        String prefix = super.getCacheKeyPrefix(forCountRow);
+        if (useInListPadding) {
+            prefix = "padded:" + prefix;
+        }
+        return useArrayParameters ? "array:" + prefix : prefix;
+    }
+
     @Override
     protected SQLSerializer createSerializer() {
-        SQLSerializer serializer = new SQLSerializer(configuration);
+        R2dbcSerializer serializer = new R2dbcSerializer(configuration);
         serializer.setUseLiterals(useLiterals);
+        serializer.setUseArrayParameters(useArrayParameters);
+        serializer.setUseInListPadding(useInListPadding);
         return serializer;
     }
 
@@ -153,10 +182,51 @@ public abstract class AbstractR2dbcQuery<T, Q extends AbstractR2dbcQuery<T, Q>>
         return (Q) this;
     }
 
+    /**
+     * Set whether the IN and NOT IN predicates of collections are bound as a single array parameter
+     * instead of a parameter for each element (default: false). Will revert to a parameter for each
+     * element, if arrays are not supported.
+     *
+     * <p>The SQL of the predicates doesn't depend on the size of the collections, so the prepared
+     * statements and the query plans can be reused.</p>
+     *
+     * @param useArrayParameters true for array parameters
+     */
+    public void setUseArrayParameters(boolean useArrayParameters) {
+        this.useArrayParameters = useArrayParameters && configuration.getTemplates() instanceof PostgreSQLTemplates;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Q withArrayParameters() {
+        setUseArrayParameters(true);
+        return (Q) this;
+    }
+
+    /**
+     * Set whether the IN and NOT IN lists of collections are padded to the next power of two
+     * (default: false), see {@link R2dbcSerializer#setUseInListPadding(boolean)}.
+     *
+     * <p>The lists have only a few different sizes, so the prepared statements can be reused
+     * on the dialects without array parameters.</p>
+     *
+     * @param useInListPadding true for padded lists
+     */
+    public void setUseInListPadding(boolean useInListPadding) {
+        this.useInListPadding = useInListPadding;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Q withInListPadding() {
+        setUseInListPadding(true);
+        return (Q) this;
+    }
+
     @Override
     protected void clone(Q query) {
         super.clone(query);
         this.useLiterals = query.useLiterals;
+        this.useArrayParameters = query.useArrayParameters;
+        this.useInListPadding = query.useInListPadding;
     }
 
     @Override
@@ -168,92 +238,263 @@ public abstract class AbstractR2dbcQuery<T, Q extends AbstractR2dbcQuery<T, Q>>
 
     @Override
     public Flux<T> fetch() {
-        return requireConnection().flatMapMany(conn -> {
-            Expression<T> expr = getProjection();
-            Mapper<T> mapper = createMapper(expr);
-            SQLSerializer serializer = serialize(false);
-            String originalSql = serializer.toString();
-            String sql = R2dbcUtils.replaceBindingArguments(originalSql);
-            Statement statement = bind(conn.createStatement(sql), serializer);
-            return Flux.from(statement.execute()).flatMap(result -> result.map(mapper::map));
+        return withConnection(conn -> {
+            RowMapper<T> mapper = RowMappers.forProjection(getProjection());
+            Statement statement = createStatement(conn, serializeCached(false));
+            return Flux.from(statement.execute()).flatMap(result -> result.map(mapper.forResult()::map));
         });
     }
 
-    private Mono<Connection> requireConnection() {
-        if (connProvider != null) {
-            return connProvider.getConnection();
+    @Override
+    public Mono<Long> fetchCount() {
+        return withConnection(conn -> {
+            Statement statement = createStatement(conn, serializeCached(true));
+            return Flux.from(statement.execute())
+                    .flatMap(result -> result.map((row, meta) -> Objects.requireNonNull(row.get(0, Long.class), "Null count")))
+                    .next();
+        }).singleOrEmpty();
+    }
+
+    /**
+     * Get the projection in {@link QueryResults} form.
+     * The count and the page are fetched by {@link FetchResultsStrategy#CONCURRENT_QUERIES}.
+     *
+     * @return results
+     */
+    @Override
+    public Mono<QueryResults<T>> fetchResults() {
+        return fetchResults(FetchResultsStrategy.CONCURRENT_QUERIES);
+    }
+
+    /**
+     * Get the projection in {@link QueryResults} form
+     *
+     * @param strategy strategy of fetching the total count
+     * @return results
+     */
+    public Mono<QueryResults<T>> fetchResults(FetchResultsStrategy strategy) {
+        Expression<T> projection = getProjection();
+        if (strategy == FetchResultsStrategy.WINDOW_COUNT && union == null && !getMetadata().isDistinct()
+                && projection != null && !(projection instanceof OptionalExpression) && !projection.equals(Wildcard.all)) {
+            return fetchResultsWithWindowCount(projection);
         } else {
-            throw new IllegalStateException("No connection provided");
+            return super.fetchResults();
         }
     }
 
     @SuppressWarnings("unchecked")
-    private Expression<T> getProjection() {
-        return (Expression<T>) queryMixin.getMetadata().getProjection();
+    private Mono<QueryResults<T>> fetchResultsWithWindowCount(Expression<T> projection) {
+        QueryModifiers modifiers = getMetadata().getModifiers();
+        Q query = clone();
+        query.queryMixin.setProjection(projection, SQLExpressions.count().over());
+        Flux<Tuple> rows = (Flux<Tuple>) query.fetch();
+        return rows.collectList().flatMap(list -> {
+            List<T> results = new ArrayList<>(list.size());
+            for (Tuple row : list) {
+                results.add(Objects.requireNonNull((T) row.get(0, projection.getType()), "Null result"));
+            }
+            if (!list.isEmpty()) {
+                return Mono.just(new QueryResults<>(results, modifiers, list.get(0).get(1, Long.class)));
+            } else if (modifiers.getOffset() != null && modifiers.getOffset() > 0) {
+                return fetchCount().map(total -> new QueryResults<>(results, modifiers, total));
+            } else {
+                return Mono.just(new QueryResults<>(results, modifiers, 0));
+            }
+        });
     }
 
-    private Mapper<T> createMapper(Expression<T> expr) {
-        if (expr instanceof FactoryExpression) {
-            FactoryExpression<T> fe = (FactoryExpression<T>) expr;
-            return (row, meta) -> newInstance(fe, row, 0);
-        } else if (expr.equals(Wildcard.all)) {
-            return this::toWildcardObjectArray;
-        } else {
-            if (expr instanceof OptionalExpression) {
-                OptionalExpression<T> oe = (OptionalExpression<T>) expr;
-                return (row, meta) -> asOptional(row, oe);
+    /**
+     * Get a page of the projection by keyset pagination.
+     *
+     * <p>Instead of an offset, the page is selected by a seek predicate on the targets of the
+     * order of the query, which must therefore be unique (e.g. end with the primary key).
+     * The modifiers of the query are replaced by the page size.</p>
+     *
+     * @param cursor cursor of the page returned by the previous page, or null for the first page
+     * @param pageSize maximum number of results of the page
+     * @return page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<KeysetPage<T>> fetchPage(@Nullable String cursor, @Nonnegative int pageSize) {
+        Expression<T> projection = getProjection();
+        List<OrderSpecifier<?>> order = getMetadata().getOrderBy();
+        if (order.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination requires an order");
+        } else if (projection == null || projection instanceof OptionalExpression || projection.equals(Wildcard.all)) {
+            throw new IllegalStateException("Unsupported projection for keyset pagination: " + projection);
+        } else if (pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page size " + pageSize);
+        }
+        Q query = clone();
+        if (cursor != null) {
+            List<Object> key = Keysets.decode(order, cursor);
+            Predicate seek = Keysets.seek(order, key, Keysets.isNullsHigh(configuration.getTemplates()));
+            if (seek == null) {
+                return Mono.just(new KeysetPage<>(Collections.emptyList(), null));
             }
-            return (row, meta) -> asRequired(row, expr);
+            query.where(seek);
+        }
+        Expression<?>[] exprs = new Expression<?>[order.size() + 1];
+        exprs[0] = projection;
+        for (int i = 0; i < order.size(); i++) {
+            exprs[i + 1] = order.get(i).getTarget();
         }
+        query.queryMixin.setProjection(exprs);
+        query.getMetadata().setModifiers(QueryModifiers.limit(pageSize + 1L));
+        Flux<Tuple> rows = (Flux<Tuple>) query.fetch();
+        return rows.collectList().map(list -> {
+            int size = Math.min(list.size(), pageSize);
+            List<T> results = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                results.add(Objects.requireNonNull((T) list.get(i).get(0, projection.getType()), "Null result"));
+            }
+            String nextCursor = null;
+            if (list.size() > pageSize) {
+                Tuple last = list.get(pageSize - 1);
+                List<Object> key = new ArrayList<>(order.size());
+                for (int i = 0; i < order.size(); i++) {
+                    key.add(last.get(i + 1, Object.class));
+                }
+                nextCursor = Keysets.encode(order, key);
+            }
+            return new KeysetPage<>(results, nextCursor);
+        });
+    }
+
+    /**
+     * Get the projection by a sequence of keyset bounded queries, each fetching at most
+     * {@code chunkSize} rows in the ascending order of the given key. The next chunk is
+     * fetched while the current chunk is consumed.
+     *
+     * <p>The order of the query is replaced by the key, which must be unique and not null.</p>
+     *
+     * @param key unique key
+     * @param chunkSize maximum number of rows of a query
+     * @return result
+     */
+    public <K extends Comparable<?>> Flux<T> fetchChunked(Path<K> key, @Nonnegative int chunkSize) {
+        return fetchChunked(key, chunkSize, null);
     }
 
-    private T asRequired(Row row, Expression<T> expr) {
-        return Objects.requireNonNull(row.get(0, expr.getType()), "Null result");
+    /**
+     * Get the projection by a sequence of keyset bounded queries, each fetching at most
+     * {@code chunkSize} rows in the ascending order of the given key. The next chunk is
+     * fetched while the current chunk is consumed.
+     *
+     * <p>The order of the query is replaced by the key, which must be unique and not null.</p>
+     *
+     * @param key unique key
+     * @param chunkSize maximum number of rows of a query
+     * @param after the key of the last consumed row to resume from, or null to start from the first row
+     * @return result
+     */
+    public <K extends Comparable<?>> Flux<T> fetchChunked(Path<K> key, @Nonnegative int chunkSize, @Nullable K after) {
+        Expression<T> projection = getProjection();
+        if (projection == null || projection instanceof OptionalExpression || projection.equals(Wildcard.all)) {
+            throw new IllegalStateException("Unsupported projection for chunked fetch: " + projection);
+        } else if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size " + chunkSize);
+        }
+        return fetchChunk(projection, key, chunkSize, after)
+                .expand(chunk -> chunk.isLast() ? Mono.empty() : fetchChunk(projection, key, chunkSize, chunk.getLastKey()))
+                .concatMapIterable(Chunk::getResults, 1);
     }
 
     @SuppressWarnings("unchecked")
-    private T asOptional(Row row, OptionalExpression<T> oe) {
-        return (T) Optional.ofNullable(row.get(0, oe.getWrappedType()));
+    private <K> Mono<Chunk<T, K>> fetchChunk(Expression<T> projection, Path<K> key, int chunkSize, @Nullable K after) {
+        Q query = clone();
+        if (after != null) {
+            query.where(ExpressionUtils.predicate(Ops.GT, key, ConstantImpl.create(after)));
+        }
+        query.getMetadata().clearOrderBy();
+        query.getMetadata().addOrderBy(new OrderSpecifier<>(Order.ASC, (Path) key));
+        query.getMetadata().setModifiers(QueryModifiers.limit(chunkSize));
+        query.queryMixin.setProjection(projection, key);
+        Flux<Tuple> rows = (Flux<Tuple>) query.fetch();
+        return rows.collectList().map(list -> {
+            List<T> results = new ArrayList<>(list.size());
+            for (Tuple row : list) {
+                results.add(Objects.requireNonNull((T) row.get(0, projection.getType()), "Null result"));
+            }
+            K lastKey = list.isEmpty() ? after : list.get(list.size() - 1).get(1, key.getType());
+            return new Chunk<>(results, lastKey, list.size() < chunkSize);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> fetchExists() {
+        Q query = clone();
+        QueryMetadata metadata = query.getMetadata();
+        if (union == null) {
+            query.queryMixin.setProjection(Expressions.ONE);
+            metadata.clearOrderBy();
+        }
+        Long limit = metadata.getModifiers().getLimit();
+        if (limit == null || limit > 1) {
+            query.limit(1);
+        }
+        return query.fetch().hasElements();
     }
 
-    @Nonnull
-    private T toWildcardObjectArray(Row row, RowMetadata meta) {
-        ArrayList<? extends ColumnMetadata> metaList = Lists.newArrayList(meta.getColumnMetadatas());
-        Object[] args = new Object[metaList.size()];
-        for (int i = 0; i < args.length; i++) {
-            ColumnMetadata columnMetadata = metaList.get(i);
-            args[i] = row.get(i, Objects.requireNonNull(columnMetadata.getJavaType(), "Unknown Java type"));
+    protected Mono<Connection> requireConnection() {
+        if (connProvider != null) {
+            return connProvider.getConnection();
+        } else {
+            throw new IllegalStateException("No connection provided");
         }
-        @SuppressWarnings("unchecked")
-        T result = (T) args;
-        return result;
     }
 
-    @Nonnull
-    private T newInstance(FactoryExpression<T> c, Row rs, int offset) {
-        Object[] args = new Object[c.getArgs().size()];
-        for (int i = 0; i < args.length; i++) {
-            args[i] = get(rs, c.getArgs().get(i), offset + i);
+    protected <R> Flux<R> withConnection(Function<? super Connection, ? extends Publisher<? extends R>> action) {
+        if (connProvider != null) {
+            return connProvider.withConnection(action);
+        } else {
+            throw new IllegalStateException("No connection provided");
         }
-        return Objects.requireNonNull(c.newInstance(args), "Null result");
     }
 
-    private Object get(Row rs, Expression<?> expr, int i) {
-        return rs.get(i, expr.getType());
+    @SuppressWarnings("unchecked")
+    protected Expression<T> getProjection() {
+        return (Expression<T>) queryMixin.getMetadata().getProjection();
+    }
+
+    protected Statement createStatement(Connection conn, R2dbcSqlCache.SerializedQuery query) {
+        return bind(conn.createStatement(query.getSQL()), getBindings(query.getConstants()));
     }
 
-    private Statement bind(Statement statement, SQLSerializer serializer) {
-        List<Object> args = serializer.getConstants();
+    private Statement bind(Statement statement, List<Object> args) {
         for (int i = 0; i < args.size(); i++) {
             statement.bind(i, args.get(i));
         }
         return statement;
     }
 
-    @FunctionalInterface
-    private interface Mapper<T> {
-        @Nonnull
-        T map(Row row, RowMetadata metadata);
+    private static final class Chunk<T, K> {
+
+        private final List<T> results;
+
+        private final K lastKey;
+
+        private final boolean last;
+
+        private Chunk(List<T> results, K lastKey, boolean last) {
+            this.results = results;
+            this.lastKey = lastKey;
+            this.last = last;
+        }
+
+        private List<T> getResults() {
+            return results;
+        }
+
+        private K getLastKey() {
+            return lastKey;
+        }
+
+        private boolean isLast() {
+            return last;
+        }
+
     }
 
 }
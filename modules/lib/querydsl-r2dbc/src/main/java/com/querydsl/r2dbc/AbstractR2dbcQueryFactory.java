@@ -5,13 +5,13 @@ import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
-import com.querydsl.r2dbc.dml.R2dbcDeleteClause;
-import com.querydsl.r2dbc.dml.R2dbcInsertClause;
-import com.querydsl.r2dbc.dml.R2dbcUpdateClause;
+import com.querydsl.r2dbc.dml.*;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLCommonQuery;
 
+import javax.annotation.Nonnegative;
+
 public abstract class AbstractR2dbcQueryFactory<Q extends SQLCommonQuery<?>> implements QueryFactory<Q> {
 
     protected final Configuration configuration;
@@ -27,18 +27,39 @@ public abstract class AbstractR2dbcQueryFactory<Q extends SQLCommonQuery<?>> imp
         return configuration;
     }
 
-    public final R2dbcInsertClause insert(RelationalPath<?> path) {
+    public R2dbcInsertClause insert(RelationalPath<?> path) {
         return new R2dbcInsertClause(connection, configuration, path);
     }
 
-    public final R2dbcUpdateClause update(RelationalPath<?> path) {
+    public AbstractR2dbcUpdateClause<?> update(RelationalPath<?> path) {
         return new R2dbcUpdateClause(connection, configuration, path);
     }
 
-    public final R2dbcDeleteClause delete(RelationalPath<?> path) {
+    public AbstractR2dbcDeleteClause<?> delete(RelationalPath<?> path) {
         return new R2dbcDeleteClause(connection, configuration, path);
     }
 
+    /**
+     * Create a pipeline which executes the added queries and clauses of this factory
+     * on a single connection without waiting for the response of each statement
+     *
+     * @return pipeline
+     */
+    public R2dbcPipeline pipeline() {
+        return new R2dbcPipeline(connection);
+    }
+
+    /**
+     * Create a group which executes the added queries and clauses of this factory concurrently,
+     * each of them on its own connection
+     *
+     * @param maxConcurrency maximum number of queries and clauses executed at a time
+     * @return parallel group
+     */
+    public R2dbcParallel parallel(@Nonnegative int maxConcurrency) {
+        return new R2dbcParallel(connection, maxConcurrency);
+    }
+
     @SuppressWarnings("unchecked")
     public final Q from(Expression<?> from) {
         return (Q) query().from(from);
@@ -0,0 +1,61 @@
+package com.querydsl.r2dbc;
+
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.SQLTemplates;
+
+/**
+ * {@link BindMarkers} defines the bind markers of the R2DBC driver
+ */
+@FunctionalInterface
+public interface BindMarkers {
+
+    /**
+     * JDBC style {@code ?} markers, used by the MySQL driver
+     */
+    BindMarkers ANONYMOUS = index -> "?";
+
+    /**
+     * {@code $1, $2, ...} markers, used by the PostgreSQL driver
+     */
+    BindMarkers INDEXED = new BindMarkers() {
+
+        private final String[] markers = createMarkers(256);
+
+        @Override
+        public String getMarker(int index) {
+            return index < markers.length ? markers[index] : "$" + (index + 1);
+        }
+
+        private String[] createMarkers(int size) {
+            String[] markers = new String[size];
+            for (int i = 0; i < size; i++) {
+                markers[i] = "$" + (i + 1);
+            }
+            return markers;
+        }
+
+    };
+
+    /**
+     * Get the bind markers of the dialect of the given templates
+     *
+     * @param templates templates of the dialect
+     * @return bind markers
+     */
+    static BindMarkers of(SQLTemplates templates) {
+        if (templates instanceof MySQLTemplates) {
+            return ANONYMOUS;
+        } else {
+            return INDEXED;
+        }
+    }
+
+    /**
+     * Get the marker of the binding
+     *
+     * @param index zero based index of the binding
+     * @return bind marker
+     */
+    String getMarker(int index);
+
+}
@@ -0,0 +1,291 @@
+package com.querydsl.r2dbc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Primitives;
+import com.querydsl.core.types.*;
+import com.querydsl.core.util.ConstructorUtils;
+import com.querydsl.sql.RelationalPath;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link EntityProjection} is the projection of a {@link RelationalPath} into its bean type.
+ *
+ * <p>It is equivalent to {@link com.querydsl.sql.RelationalPathUtils#createProjection(RelationalPath)},
+ * but the bean is populated through {@link MethodHandle}s which are resolved once per bean type
+ * and columns: through the fields when the bean type has a default constructor, otherwise through
+ * the constructor with the types of the columns (e.g. immutable value types).</p>
+ *
+ * @param <T> bean type
+ */
+public final class EntityProjection<T> extends FactoryExpressionBase<T> {
+
+    private static final long serialVersionUID = 5287231894632017840L;
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final Cache<List<Object>, Populator<?>> populators = CacheBuilder.newBuilder()
+            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * Create the projection of the given path
+     *
+     * @param path path with a generated bean type
+     * @param <T> bean type
+     * @return projection of the path
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityProjection<T> of(RelationalPath<T> path) {
+        if (path.getType().equals(path.getClass())) {
+            throw new IllegalArgumentException("RelationalPath based projection can only be used with generated Bean types");
+        }
+        List<Expression<?>> args = new ArrayList<>(path.getColumns());
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("No bindings could be derived from " + path);
+        }
+        List<Object> key = new ArrayList<>(1 + args.size() * 2);
+        key.add(path.getType());
+        for (Expression<?> arg : args) {
+            key.add(((Path<?>) arg).getMetadata().getName());
+            key.add(arg.getType());
+        }
+        try {
+            Populator<T> populator = (Populator<T>) populators.get(key, () -> createPopulator(path.getType(), args));
+            return new EntityProjection<>(path.getType(), args, populator);
+        } catch (ExecutionException ex) {
+            throw new ExpressionException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Convert the given projection, the {@link RelationalPath}s with generated bean types
+     * and such arguments of a tuple are projected into {@link EntityProjection}s.
+     * The values of the converted tuples are still accessed by the original arguments.
+     *
+     * @param projection projection
+     * @param <T> result type
+     * @return converted projection
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Expression<T> convert(Expression<T> projection) {
+        if (isEntity(projection)) {
+            return of((RelationalPath<T>) projection);
+        } else if (projection instanceof QTuple) {
+            List<Expression<?>> args = ((QTuple) projection).getArgs();
+            ImmutableList.Builder<Expression<?>> converted = ImmutableList.builder();
+            boolean entities = false;
+            for (Expression<?> arg : args) {
+                if (isEntity(arg)) {
+                    converted.add(of((RelationalPath<?>) arg));
+                    entities = true;
+                } else {
+                    converted.add(arg);
+                }
+            }
+            return entities ? (Expression<T>) new EntityTuple(ImmutableList.copyOf(args), converted.build()) : projection;
+        } else {
+            return projection;
+        }
+    }
+
+    private static boolean isEntity(Expression<?> expr) {
+        return expr instanceof RelationalPath && !expr.getType().equals(expr.getClass());
+    }
+
+    private final List<Expression<?>> args;
+
+    private final transient Populator<T> populator;
+
+    private EntityProjection(Class<? extends T> type, List<Expression<?>> args, Populator<T> populator) {
+        super(type);
+        this.args = args;
+        this.populator = populator;
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Nullable
+    @Override
+    public T newInstance(Object... a) {
+        try {
+            return populator.newInstance(a);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new ExpressionException(ex.getMessage(), ex);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, @Nullable C context) {
+        return v.visit(this, context);
+    }
+
+    private static <T> Populator<T> createPopulator(Class<? extends T> type, List<Expression<?>> args)
+            throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Constructor<? extends T> defaultConstructor;
+        try {
+            defaultConstructor = type.getConstructor();
+        } catch (NoSuchMethodException ex) {
+            return createConstructorPopulator(lookup, type, args);
+        }
+        defaultConstructor.setAccessible(true);
+        MethodHandle constructor = lookup.unreflectConstructor(defaultConstructor)
+                .asType(MethodType.methodType(Object.class));
+        MethodHandle[] setters = new MethodHandle[args.size()];
+        for (int i = 0; i < setters.length; i++) {
+            Expression<?> arg = args.get(i);
+            Field field = getField(type, ((Path<?>) arg).getMetadata().getName());
+            if (field != null) {
+                if (!Primitives.wrap(field.getType()).isAssignableFrom(Primitives.wrap(arg.getType()))) {
+                    throw new IllegalArgumentException(arg.getType().getName()
+                            + " is not compatible with " + field.getType().getName());
+                }
+                field.setAccessible(true);
+                setters[i] = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+        }
+        return new BeanPopulator<>(constructor, setters);
+    }
+
+    private static <T> Populator<T> createConstructorPopulator(MethodHandles.Lookup lookup, Class<? extends T> type,
+                                                               List<Expression<?>> args)
+            throws ReflectiveOperationException {
+        Class<?>[] types = new Class<?>[args.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = args.get(i).getType();
+        }
+        Constructor<? extends T> constructor = ConstructorUtils.getConstructor(type, types);
+        constructor.setAccessible(true);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] defaults = new Object[parameterTypes.length];
+        for (int i = 0; i < defaults.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+        MethodHandle handle = lookup.unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(parameterTypes.length))
+                .asSpreader(Object[].class, parameterTypes.length);
+        return new ConstructorPopulator<>(handle, defaults);
+    }
+
+    @Nullable
+    private static Field getField(Class<?> type, String name) {
+        for (Class<?> beanType = type; !beanType.equals(Object.class); beanType = beanType.getSuperclass()) {
+            try {
+                return beanType.getDeclaredField(name);
+            } catch (NoSuchFieldException ex) {
+                // try the superclass
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@link QTuple} of {@link EntityProjection}s, which binds the values to the original arguments
+     */
+    private static final class EntityTuple extends QTuple {
+
+        private static final long serialVersionUID = -1867318542213417213L;
+
+        private final ImmutableList<Expression<?>> converted;
+
+        private EntityTuple(ImmutableList<Expression<?>> args, ImmutableList<Expression<?>> converted) {
+            super(args);
+            this.converted = converted;
+        }
+
+        @Override
+        public List<Expression<?>> getArgs() {
+            return converted;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof EntityTuple) {
+                return converted.equals(((EntityTuple) obj).converted);
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface Populator<T> {
+        T newInstance(Object[] values) throws Throwable;
+    }
+
+    private static final class BeanPopulator<T> implements Populator<T> {
+
+        private final MethodHandle constructor;
+
+        private final MethodHandle[] setters;
+
+        private BeanPopulator(MethodHandle constructor, MethodHandle[] setters) {
+            this.constructor = constructor;
+            this.setters = setters;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object[] values) throws Throwable {
+            Object bean = (Object) constructor.invokeExact();
+            for (int i = 0; i < values.length; i++) {
+                MethodHandle setter = setters[i];
+                Object value = values[i];
+                if (value != null && setter != null) {
+                    setter.invokeExact(bean, value);
+                }
+            }
+            return (T) bean;
+        }
+
+    }
+
+    private static final class ConstructorPopulator<T> implements Populator<T> {
+
+        private final MethodHandle constructor;
+
+        private final Object[] defaults;
+
+        private ConstructorPopulator(MethodHandle constructor, Object[] defaults) {
+            this.constructor = constructor;
+            this.defaults = defaults;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object[] values) throws Throwable {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    values[i] = defaults[i];
+                }
+            }
+            return (T) (Object) constructor.invokeExact(values);
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.querydsl.r2dbc;
+
+/**
+ * {@link FetchResultsStrategy} defines how the total count of
+ * {@link AbstractR2dbcQuery#fetchResults(FetchResultsStrategy)} is fetched
+ */
+public enum FetchResultsStrategy {
+
+    /**
+     * The count and the page are fetched by two queries which are executed concurrently,
+     * each on the connection returned by the {@link R2dbcConnectionProvider}
+     */
+    CONCURRENT_QUERIES,
+
+    /**
+     * The count is fetched with the page in a single query through a {@code count(*) over ()} column.
+     * Falls back to {@link #CONCURRENT_QUERIES} if the query is distinct, a union or has a wildcard
+     * projection, and executes the count query if the page is empty but has an offset.
+     */
+    WINDOW_COUNT
+
+}
@@ -0,0 +1,46 @@
+package com.querydsl.r2dbc;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * {@link KeysetPage} is a page of a keyset paginated query
+ *
+ * @param <T> result type
+ * @see AbstractR2dbcQuery#fetchPage(String, int)
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> results;
+
+    @Nullable
+    private final String nextCursor;
+
+    public KeysetPage(List<T> results, @Nullable String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return results of the page
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return opaque cursor of the next page, or null if this is the last page
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.querydsl.r2dbc;
+
+import com.querydsl.core.types.*;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.SQLServerTemplates;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLiteTemplates;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link Keysets} provides the seek predicates and the cursors of keyset pagination
+ */
+final class Keysets {
+
+    private static final int VERSION = 2;
+
+    private Keysets() {
+    }
+
+    /**
+     * Get whether null values are sorted as if they were higher than any non-null value,
+     * when the null handling of the order is not specified
+     *
+     * @param templates templates of the dialect
+     * @return true if nulls are last in ascending order
+     */
+    static boolean isNullsHigh(SQLTemplates templates) {
+        return !(templates instanceof MySQLTemplates
+                || templates instanceof SQLServerTemplates
+                || templates instanceof SQLiteTemplates);
+    }
+
+    /**
+     * Create the predicate of the rows which are after the given key in the given order
+     *
+     * @param order order of the query
+     * @param key values of the order targets of the last row
+     * @param nullsHigh whether nulls are high by default
+     * @return seek predicate or null if there are no rows after the key
+     */
+    @Nullable
+    static Predicate seek(List<OrderSpecifier<?>> order, List<?> key, boolean nullsHigh) {
+        if (order.size() > 1 && isRowValueComparable(order, key)) {
+            List<Expression<?>> targets = new ArrayList<>(order.size());
+            List<Expression<?>> values = new ArrayList<>(key.size());
+            for (int i = 0; i < order.size(); i++) {
+                targets.add(order.get(i).getTarget());
+                values.add(ConstantImpl.create(key.get(i)));
+            }
+            String template = order.get(0).isAscending() ? "({0}) > ({1})" : "({0}) < ({1})";
+            return ExpressionUtils.predicateTemplate(template,
+                    ExpressionUtils.list(Object.class, targets), ExpressionUtils.list(Object.class, values));
+        }
+        Predicate seek = null;
+        Predicate equal = null;
+        for (int i = 0; i < order.size(); i++) {
+            OrderSpecifier<?> spec = order.get(i);
+            Object value = key.get(i);
+            Predicate after = after(spec, value, nullsHigh);
+            if (after != null) {
+                seek = ExpressionUtils.or(seek, ExpressionUtils.and(equal, after));
+            }
+            equal = ExpressionUtils.and(equal, value != null
+                    ? ExpressionUtils.predicate(Ops.EQ, spec.getTarget(), ConstantImpl.create(value))
+                    : ExpressionUtils.isNull(spec.getTarget()));
+        }
+        return seek;
+    }
+
+    @Nullable
+    private static Predicate after(OrderSpecifier<?> spec, @Nullable Object value, boolean nullsHigh) {
+        Expression<?> target = spec.getTarget();
+        boolean nullsLast;
+        if (spec.getNullHandling() == OrderSpecifier.NullHandling.Default) {
+            nullsLast = spec.isAscending() == nullsHigh;
+        } else {
+            nullsLast = spec.getNullHandling() == OrderSpecifier.NullHandling.NullsLast;
+        }
+        if (value == null) {
+            return nullsLast ? null : ExpressionUtils.isNotNull(target);
+        }
+        Predicate after = ExpressionUtils.predicate(spec.isAscending() ? Ops.GT : Ops.LT,
+                target, ConstantImpl.create(value));
+        if (nullsLast && isNullable(target)) {
+            after = ExpressionUtils.or(after, ExpressionUtils.isNull(target));
+        }
+        return after;
+    }
+
+    private static boolean isRowValueComparable(List<OrderSpecifier<?>> order, List<?> key) {
+        boolean ascending = order.get(0).isAscending();
+        for (int i = 0; i < order.size(); i++) {
+            OrderSpecifier<?> spec = order.get(i);
+            if (spec.isAscending() != ascending || key.get(i) == null || isNullable(spec.getTarget())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNullable(Expression<?> target) {
+        return !(target instanceof Path) || ColumnMetadata.getColumnMetadata((Path<?>) target).isNullable();
+    }
+
+    /**
+     * Encode the given key into an opaque cursor
+     *
+     * @param order order of the query
+     * @param key values of the order targets
+     * @return cursor
+     */
+    static String encode(List<OrderSpecifier<?>> order, List<?> key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(key.size());
+            for (int i = 0; i < key.size(); i++) {
+                Object value = key.get(i);
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    writeString(out, format(order.get(i).getTarget().getType(), value));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decode the key of the given cursor
+     *
+     * @param order order of the query
+     * @param cursor cursor created by {@link #encode(List, List)} with the same order
+     * @return values of the order targets
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    static List<Object> decode(List<OrderSpecifier<?>> order, String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() == VERSION && in.readShort() == order.size()) {
+                List<Object> key = new ArrayList<>(order.size());
+                for (OrderSpecifier<?> spec : order) {
+                    key.add(in.readBoolean() ? parse(spec.getTarget().getType(), readString(in)) : null);
+                }
+                if (in.available() == 0) {
+                    return key;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor, ex);
+        }
+        throw new IllegalArgumentException("Invalid cursor " + cursor);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // length-prefixed, writeUTF is limited to 64KB
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new EOFException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String format(Class<?> type, Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof byte[]) {
+            return new String(Base64.getEncoder().encode((byte[]) value), StandardCharsets.US_ASCII);
+        } else if (isSupported(type)) {
+            return value.toString();
+        } else {
+            throw new IllegalArgumentException("Unsupported key type " + type.getName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(Class<?> type, String value) {
+        if (type.equals(String.class)) {
+            return value;
+        } else if (type.equals(Long.class)) {
+            return Long.valueOf(value);
+        } else if (type.equals(Integer.class)) {
+            return Integer.valueOf(value);
+        } else if (type.equals(Short.class)) {
+            return Short.valueOf(value);
+        } else if (type.equals(Byte.class)) {
+            return Byte.valueOf(value);
+        } else if (type.equals(Double.class)) {
+            return Double.valueOf(value);
+        } else if (type.equals(Float.class)) {
+            return Float.valueOf(value);
+        } else if (type.equals(BigDecimal.class)) {
+            return new BigDecimal(value);
+        } else if (type.equals(BigInteger.class)) {
+            return new BigInteger(value);
+        } else if (type.equals(Boolean.class)) {
+            return Boolean.valueOf(value);
+        } else if (type.equals(Character.class)) {
+            return value.charAt(0);
+        } else if (type.equals(UUID.class)) {
+            return UUID.fromString(value);
+        } else if (type.equals(LocalDate.class)) {
+            return LocalDate.parse(value);
+        } else if (type.equals(LocalDateTime.class)) {
+            return LocalDateTime.parse(value);
+        } else if (type.equals(LocalTime.class)) {
+            return LocalTime.parse(value);
+        } else if (type.equals(OffsetDateTime.class)) {
+            return OffsetDateTime.parse(value);
+        } else if (type.equals(OffsetTime.class)) {
+            return OffsetTime.parse(value);
+        } else if (type.equals(ZonedDateTime.class)) {
+            return ZonedDateTime.parse(value);
+        } else if (type.equals(Instant.class)) {
+            return Instant.parse(value);
+        } else if (type.equals(byte[].class)) {
+            return Base64.getDecoder().decode(value);
+        } else if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        } else {
+            throw new IllegalArgumentException("Unsupported key type " + type.getName());
+        }
+    }
+
+    private static boolean isSupported(Class<?> type) {
+        return type.equals(String.class) || type.equals(Long.class) || type.equals(Integer.class)
+                || type.equals(Short.class) || type.equals(Byte.class) || type.equals(Double.class)
+                || type.equals(Float.class) || type.equals(BigDecimal.class) || type.equals(BigInteger.class)
+                || type.equals(Boolean.class) || type.equals(Character.class) || type.equals(UUID.class)
+                || type.equals(LocalDate.class) || type.equals(LocalDateTime.class) || type.equals(LocalTime.class)
+                || type.equals(OffsetDateTime.class) || type.equals(OffsetTime.class)
+                || type.equals(ZonedDateTime.class) || type.equals(Instant.class);
+    }
+
+}
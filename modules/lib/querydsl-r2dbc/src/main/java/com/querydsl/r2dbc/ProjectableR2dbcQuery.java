@@ -5,11 +5,13 @@ import com.google.common.collect.Sets;
 import com.querydsl.core.JoinFlag;
 import com.querydsl.core.Query;
 import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.support.QueryMixin;
 import com.querydsl.core.types.*;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.corereactive.FetchableQuery;
 import com.querydsl.corereactive.support.FetchableSubQueryBase;
+import com.querydsl.r2dbc.internal.QueryShape;
 import com.querydsl.sql.*;
 
 import javax.annotation.Nullable;
@@ -465,34 +467,95 @@ public abstract class ProjectableR2dbcQuery<T, Q extends ProjectableR2dbcQuery<T
         return serializer;
     }
 
+    /**
+     * Whether the serialized form of this query can be served from the {@link R2dbcSqlCache}
+     *
+     * @return true, if the query is cacheable
+     */
+    protected boolean isCacheable() {
+        return union == null;
+    }
+
+    /**
+     * Get the prefix of the key of this query in the {@link R2dbcSqlCache}, which distinguishes
+     * the different serializations of the same query shape
+     *
+     * @param forCountRow true, for the count query
+     * @return prefix of the cache key
+     */
+    protected String getCacheKeyPrefix(boolean forCountRow) {
+        return forCountRow ? "count:" : "";
+    }
+
+    /**
+     * Create the shape of the given metadata, which identifies this query in the {@link R2dbcSqlCache}
+     *
+     * @param metadata query metadata
+     * @return shape of the query
+     */
+    protected QueryShape createQueryShape(QueryMetadata metadata) {
+        return QueryShape.of(metadata, configuration.getTemplates());
+    }
+
+    /**
+     * Serialize the query, or get the SQL of the same query shape from the {@link R2dbcSqlCache}
+     *
+     * @param forCountRow true, to serialize the count query
+     * @return serialized query
+     */
+    protected R2dbcSqlCache.SerializedQuery serializeCached(boolean forCountRow) {
+        if (isCacheable()) {
+            QueryMetadata metadata = queryMixin.getMetadata();
+            return R2dbcSqlCache.of(configuration).get(createQueryShape(metadata), metadata,
+                    getCacheKeyPrefix(forCountRow), md -> {
+                SQLSerializer serializer = createSerializer();
+                serializer.serialize(md, forCountRow);
+                return serializer;
+            });
+        } else {
+            SQLSerializer serializer = serialize(forCountRow);
+            return new R2dbcSqlCache.SerializedQuery(serializer.toString(), serializer.getConstants());
+        }
+    }
+
     /**
      * Get the query as an SQL query string and bindings
      *
      * @return SQL string and bindings
      */
     public SQLBindings getSQL() {
-        return getSQL(serialize(false));
+        R2dbcSqlCache.SerializedQuery query = serializeCached(false);
+        return new SQLBindings(query.getSQL(), getBindings(query.getConstants()));
     }
 
     protected SQLBindings getSQL(SQLSerializer serializer) {
+        return new SQLBindings(serializer.toString(), getBindings(serializer.getConstants()));
+    }
+
+    /**
+     * Resolve the {@link ParamExpression}s of the given constants
+     *
+     * @param constants constants of the serialized query
+     * @return bindings of the query
+     */
+    protected List<Object> getBindings(List<Object> constants) {
         List<Object> args = newArrayList();
         Map<ParamExpression<?>, Object> params = getMetadata().getParams();
-        for (Object o : serializer.getConstants()) {
+        for (Object o : constants) {
             if (o instanceof ParamExpression) {
                 if (!params.containsKey(o)) {
                     throw new ParamNotSetException((ParamExpression<?>) o);
                 }
-                o = queryMixin.getMetadata().getParams().get(o);
+                o = params.get(o);
             }
             args.add(o);
         }
-        return new SQLBindings(serializer.toString(), args);
+        return args;
     }
 
     @Override
     public String toString() {
-        SQLSerializer serializer = serialize(false);
-        return serializer.toString().trim();
+        return serializeCached(false).getSQL().trim();
     }
 
 }
@@ -1,8 +1,13 @@
 package com.querydsl.r2dbc;
 
 import io.r2dbc.spi.Connection;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 @FunctionalInterface
 public interface R2dbcConnectionProvider {
 
@@ -13,4 +18,28 @@ public interface R2dbcConnectionProvider {
      */
     Mono<Connection> getConnection();
 
+    /**
+     * Runs the given action with a connection. The queries and clauses execute their statements by this method.
+     * The default implementation uses the connection of {@link #getConnection()} and does not release it,
+     * providers which create connections release them when the result of the action terminates or is cancelled.
+     * @param action the statements to execute on the connection
+     * @param <T> type of the result
+     * @return the result of the action
+     */
+    default <T> Flux<T> withConnection(Function<? super Connection, ? extends Publisher<? extends T>> action) {
+        return getConnection().flatMapMany(action);
+    }
+
+    /**
+     * Runs the given work so that its queries and clauses share a single connection.
+     * The default implementation runs the work as is, because all the statements use the connection of
+     * {@link #getConnection()}, providers which create connections bind one for the whole work.
+     * @param work the queries and clauses to execute on the same connection
+     * @param <T> type of the result
+     * @return the result of the work
+     */
+    default <T> Flux<T> withSharedConnection(Supplier<? extends Publisher<T>> work) {
+        return Flux.defer(work);
+    }
+
 }
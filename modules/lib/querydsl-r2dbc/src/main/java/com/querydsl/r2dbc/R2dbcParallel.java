@@ -0,0 +1,47 @@
+package com.querydsl.r2dbc;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link R2dbcParallel} executes independent queries and clauses concurrently,
+ * each of them on its own connection, up to the given number at a time.
+ *
+ * <pre>
+ * R2dbcParallel parallel = queryFactory.parallel(4);
+ * Mono&lt;Long&gt; users = parallel.add(queryFactory.selectFrom(user).fetchCount());
+ * Mono&lt;Long&gt; locales = parallel.add(queryFactory.selectFrom(locale).fetchCount());
+ * Mono&lt;Tuple2&lt;Long, Long&gt;&gt; counts = Mono.zip(users, locales);
+ * </pre>
+ *
+ * <p>The connections are acquired and released by the connection provider, so a provider which acquires
+ * a connection for each statement is required, for example {@link TransactionalR2dbcConnectionProvider}
+ * outside of a transaction. Each connection is released as soon as its result completes, fails or is cancelled.
+ * Within a transaction, or with a single connection, the queries and clauses share the connection and
+ * there is no transactional consistency between them anyway.</p>
+ */
+public final class R2dbcParallel extends AbstractR2dbcGroup {
+
+    private final int maxConcurrency;
+
+    public R2dbcParallel(@Nonnull R2dbcConnectionProvider connProvider, @Nonnegative int maxConcurrency) {
+        super(Objects.requireNonNull(connProvider, "Connection provider is required"));
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Invalid concurrency " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    protected Mono<Void> execute(List<Flux<?>> results) {
+        return Flux.fromIterable(results)
+                .flatMapDelayError(result -> result.then(), maxConcurrency, 1)
+                .then();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.querydsl.r2dbc;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link R2dbcPipeline} executes independent queries and clauses on a single connection
+ * without waiting for the response of each statement before submitting the next one.
+ *
+ * <pre>
+ * R2dbcPipeline pipeline = queryFactory.pipeline();
+ * Flux&lt;SUser&gt; users = pipeline.add(queryFactory.selectFrom(user).where(user.disabled.isFalse()).fetch());
+ * Mono&lt;Long&gt; count = pipeline.add(queryFactory.selectFrom(locale).fetchCount());
+ * Mono&lt;Long&gt; deleted = pipeline.add(queryFactory.delete(session).where(session.expired.isTrue()).execute());
+ * </pre>
+ *
+ * <p>All the added publishers are subscribed at once in the order of addition, so they are serialized and
+ * their statements are submitted up front, and the driver queues them on the connection.</p>
+ *
+ * <p>The queries and clauses must be created by factories of the same connection provider,
+ * see {@link R2dbcConnectionProvider#withSharedConnection(java.util.function.Supplier)}.</p>
+ */
+public final class R2dbcPipeline extends AbstractR2dbcGroup {
+
+    public R2dbcPipeline(@Nonnull R2dbcConnectionProvider connProvider) {
+        super(Objects.requireNonNull(connProvider, "Connection provider is required"));
+    }
+
+    @Override
+    protected Mono<Void> execute(List<Flux<?>> results) {
+        return connProvider.withSharedConnection(() -> Mono.whenDelayError(results)).then();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.querydsl.r2dbc;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.support.QueryMixin;
+import com.querydsl.sql.RelationalPath;
+
+/**
+ * {@link R2dbcQueryMixin} projects {@link RelationalPath}s with generated bean types
+ * into {@link EntityProjection}s
+ *
+ * @param <T> type of the owner query
+ */
+class R2dbcQueryMixin<T> extends QueryMixin<T> {
+
+    R2dbcQueryMixin(QueryMetadata metadata) {
+        super(metadata, false);
+    }
+
+    @Override
+    public <RT> Expression<RT> convert(Expression<RT> expr, Role role) {
+        if (role == Role.SELECT) {
+            Expression<RT> converted = EntityProjection.convert(expr);
+            if (converted instanceof EntityProjection) {
+                return converted;
+            }
+            return super.convert(converted, role);
+        }
+        return super.convert(expr, role);
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.querydsl.r2dbc;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.internal.InLists;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLOps;
+import com.querydsl.sql.SQLSerializer;
+import com.querydsl.sql.dml.SQLInsertBatch;
+import com.querydsl.sql.types.Null;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link R2dbcSerializer} is a {@link SQLSerializer} which writes the bind markers of the R2DBC driver
+ * instead of JDBC style {@code ?} markers.
+ */
+public class R2dbcSerializer extends SQLSerializer {
+
+    /**
+     * Maximum size of the IN lists padded by {@link #setUseInListPadding(boolean)}, larger lists are split
+     */
+    public static final int MAX_IN_LIST_SIZE = 1024;
+
+    private final BindMarkers bindMarkers;
+
+    private boolean useArrayParameters;
+
+    private boolean useInListPadding;
+
+    public R2dbcSerializer(Configuration conf) {
+        this(conf, false);
+    }
+
+    public R2dbcSerializer(Configuration conf, boolean dml) {
+        this(conf, dml, BindMarkers.of(conf.getTemplates()));
+    }
+
+    public R2dbcSerializer(Configuration conf, boolean dml, BindMarkers bindMarkers) {
+        super(conf, dml);
+        this.bindMarkers = bindMarkers;
+    }
+
+    /**
+     * Set whether the IN and NOT IN predicates of collections are bound as a single array parameter,
+     * {@code = any(?)} and {@code <> all(?)}, instead of a parameter for each element (default: false).
+     * Only the element types with an array codec of the PostgreSQL driver are bound as arrays.
+     *
+     * @param useArrayParameters true for array parameters
+     */
+    public void setUseArrayParameters(boolean useArrayParameters) {
+        this.useArrayParameters = useArrayParameters;
+    }
+
+    /**
+     * Set whether the IN and NOT IN lists of collections are padded to the next power of two by repeating
+     * their last element (default: false). The lists larger than {@link #MAX_IN_LIST_SIZE}, or the list
+     * size limit of the dialect, are split into OR-ed predicates of padded lists. The lists of parameters
+     * have only a few different sizes, so do the statements which contain them.
+     *
+     * @param useInListPadding true for padded lists
+     */
+    public void setUseInListPadding(boolean useInListPadding) {
+        this.useInListPadding = useInListPadding;
+    }
+
+    private String nextBindMarker() {
+        return bindMarkers.getMarker(constants.size());
+    }
+
+    @Override
+    public void visitConstant(Object constant) {
+        if (useLiterals) {
+            super.visitConstant(constant);
+        } else if (constant instanceof Collection) {
+            append("(");
+            boolean first = true;
+            for (Object o : (Collection<?>) constant) {
+                if (!first) {
+                    append(COMMA);
+                }
+                append(nextBindMarker());
+                constants.add(o);
+                if (first && (constantPaths.size() < constants.size())) {
+                    constantPaths.add(null);
+                }
+                first = false;
+            }
+            append(")");
+
+            int size = ((Collection<?>) constant).size() - 1;
+            Path<?> lastPath = constantPaths.peekLast();
+            for (int i = 0; i < size; i++) {
+                constantPaths.add(lastPath);
+            }
+        } else {
+            if (stage == Stage.SELECT
+                    && !Null.class.isInstance(constant)
+                    && configuration.getTemplates().isWrapSelectParameters()) {
+                String typeName = configuration.getTypeNameForCast(constant.getClass());
+                Expression<?> marker = Expressions.template(Object.class, nextBindMarker());
+                Expression<?> type = Expressions.constant(typeName);
+                visitOperation(constant.getClass(), SQLOps.CAST, ImmutableList.<Expression<?>>of(marker, type));
+            } else {
+                append(nextBindMarker());
+            }
+            constants.add(constant);
+            if (constantPaths.size() < constants.size()) {
+                constantPaths.add(null);
+            }
+        }
+    }
+
+    @Override
+    protected void visitOperation(Class<?> type, Operator operator, List<? extends Expression<?>> args) {
+        if (useArrayParameters && !useLiterals && (operator == Ops.IN || operator == Ops.NOT_IN)
+                && args.get(1) instanceof Constant) {
+            Object array = InLists.createArray(args.get(0).getType(), ((Constant<?>) args.get(1)).getConstant());
+            if (array != null) {
+                handle(InLists.arrayPredicate(operator, args.get(0), array));
+                return;
+            }
+        }
+        if (useInListPadding && !useLiterals && (operator == Ops.IN || operator == Ops.NOT_IN)
+                && args.get(1) instanceof Constant && ((Constant<?>) args.get(1)).getConstant() instanceof Collection) {
+            List<?> values = new ArrayList<>((Collection<?>) ((Constant<?>) args.get(1)).getConstant());
+            int maxSize = InLists.getMaxSize(templates);
+            if (values.size() > maxSize) {
+                List<Predicate> chunks = new ArrayList<>();
+                for (int i = 0; i < values.size(); i += maxSize) {
+                    List<?> chunk = values.subList(i, Math.min(values.size(), i + maxSize));
+                    chunks.add(ExpressionUtils.predicate(operator, args.get(0), ConstantImpl.create(chunk)));
+                }
+                append("(");
+                handle(operator == Ops.IN ? ExpressionUtils.anyOf(chunks) : ExpressionUtils.allOf(chunks));
+                append(")");
+                return;
+            } else if (!values.isEmpty()) {
+                args = ImmutableList.of(args.get(0), ConstantImpl.create(InLists.pad(values)));
+            }
+        }
+        super.visitOperation(type, operator, args);
+    }
+
+    @Override
+    protected void serializeForInsert(QueryMetadata metadata, RelationalPath<?> entity, List<Path<?>> columns,
+                                      List<Expression<?>> values, @Nullable SubQueryExpression<?> subQuery) {
+        if (subQuery != null || useLiterals || values.isEmpty()) {
+            super.serializeForInsert(metadata, entity, columns, values, subQuery);
+            return;
+        }
+        serialize(QueryFlag.Position.START, metadata.getFlags());
+        if (!serialize(QueryFlag.Position.START_OVERRIDE, metadata.getFlags())) {
+            append(templates.getInsertInto());
+        }
+        serialize(QueryFlag.Position.AFTER_SELECT, metadata.getFlags());
+        boolean originalDmlWithSchema = dmlWithSchema;
+        dmlWithSchema = true;
+        handle(entity);
+        dmlWithSchema = originalDmlWithSchema;
+        if (!columns.isEmpty()) {
+            append(" (");
+            skipParent = true;
+            handle(COMMA, columns);
+            skipParent = false;
+            append(")");
+        }
+        append(templates.getValues());
+        serializeValues(columns, values);
+    }
+
+    @Override
+    protected void serializeForInsert(QueryMetadata metadata, RelationalPath<?> entity, List<SQLInsertBatch> batches) {
+        SQLInsertBatch first = batches.get(0);
+        serializeForInsert(metadata, entity, first.getColumns(), first.getValues(), null);
+        for (int i = 1; i < batches.size(); i++) {
+            append(COMMA);
+            serializeValues(batches.get(i).getColumns(), batches.get(i).getValues());
+        }
+    }
+
+    /**
+     * Serialize a row of values. The constant values are bound with the path of their column,
+     * the constants of the expression values are bound without path.
+     */
+    private void serializeValues(List<Path<?>> columns, List<Expression<?>> values) {
+        append("(");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                append(COMMA);
+            }
+            Expression<?> value = values.get(i);
+            int index = constants.size();
+            handle(value);
+            if (!useLiterals && value instanceof Constant && constants.size() == index + 1 && i < columns.size()) {
+                constantPaths.set(index, columns.get(i));
+            }
+        }
+        append(")");
+    }
+
+    @Override
+    public Void visit(ParamExpression<?> param, Void context) {
+        append(nextBindMarker());
+        constants.add(param);
+        if (constantPaths.size() < constants.size()) {
+            constantPaths.add(null);
+        }
+        return null;
+    }
+
+    /**
+     * Serialize a RETURNING clause of the given projection, to be appended to a DML statement
+     * of the given entity
+     *
+     * @param entity table of the statement
+     * @param projection returned expressions
+     */
+    public void serializeReturning(RelationalPath<?> entity, List<? extends Expression<?>> projection) {
+        this.entity = entity;
+        append("\nreturning ");
+        handle(COMMA, projection);
+    }
+
+}
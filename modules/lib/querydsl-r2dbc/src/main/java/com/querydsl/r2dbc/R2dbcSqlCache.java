@@ -0,0 +1,217 @@
+package com.querydsl.r2dbc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.r2dbc.internal.QueryShape;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * {@link R2dbcSqlCache} is a bounded cache of serialized queries per {@link Configuration}.
+ *
+ * <p>Queries are identified by their {@link QueryShape}, so queries which differ only in the values
+ * of their bindings share the same entry. On a hit only the bindings are extracted from the query.</p>
+ *
+ * <p>The cache assumes that the configuration is not modified after the first query was serialized.</p>
+ */
+public final class R2dbcSqlCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final LoadingCache<Configuration, R2dbcSqlCache> caches = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(configuration -> new R2dbcSqlCache(configuration, DEFAULT_MAXIMUM_SIZE)));
+
+    /**
+     * Get the cache of the given configuration
+     *
+     * @param configuration configuration
+     * @return cache of the configuration
+     */
+    public static R2dbcSqlCache of(Configuration configuration) {
+        return caches.getUnchecked(configuration);
+    }
+
+    /**
+     * Serialized form of a query
+     */
+    public static final class SerializedQuery {
+
+        private final String sql;
+
+        private final List<Object> constants;
+
+        public SerializedQuery(String sql, List<Object> constants) {
+            this.sql = sql;
+            this.constants = constants;
+        }
+
+        /**
+         * @return SQL string with the bind markers of the R2DBC driver
+         */
+        public String getSQL() {
+            return sql;
+        }
+
+        /**
+         * @return constants of the bindings, {@link ParamExpression}s are not resolved
+         */
+        public List<Object> getConstants() {
+            return constants;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private static final Entry UNCACHEABLE = new Entry(null, null);
+
+        private final String sql;
+
+        private final Object[] bindings;
+
+        private Entry(String sql, Object[] bindings) {
+            this.sql = sql;
+            this.bindings = bindings;
+        }
+
+        private SerializedQuery toSerializedQuery(List<Object> values) {
+            List<Object> constants = new ArrayList<>(bindings.length);
+            for (Object binding : bindings) {
+                if (binding instanceof QueryShape.Slot) {
+                    constants.add(values.get(((QueryShape.Slot) binding).getIndex()));
+                } else {
+                    constants.add(binding);
+                }
+            }
+            return new SerializedQuery(sql, constants);
+        }
+
+    }
+
+    private final Configuration configuration;
+
+    private final Cache<String, Entry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private R2dbcSqlCache(Configuration configuration, int maximumSize) {
+        this.configuration = configuration;
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * @return the number of queries served from the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of queries which were serialized
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of cached query shapes
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Discard all cached queries
+     */
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Serialize the given query or get it from the cache
+     *
+     * @param metadata query metadata
+     * @param keyPrefix distinguishes different serializations of the same metadata
+     * @param serializer serializes the given metadata
+     * @return serialized query
+     */
+    public SerializedQuery get(QueryMetadata metadata, String keyPrefix,
+                               Function<QueryMetadata, SQLSerializer> serializer) {
+        return get(QueryShape.of(metadata, configuration.getTemplates()), metadata, keyPrefix, serializer);
+    }
+
+    /**
+     * Serialize the given query or get it from the cache
+     *
+     * @param shape shape of the metadata, created with the options of the serializer
+     * @param metadata query metadata
+     * @param keyPrefix distinguishes different serializations of the same metadata
+     * @param serializer serializes the given metadata
+     * @return serialized query
+     */
+    public SerializedQuery get(QueryShape shape, QueryMetadata metadata, String keyPrefix,
+                               Function<QueryMetadata, SQLSerializer> serializer) {
+        String key = keyPrefix + shape.getKey();
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry != Entry.UNCACHEABLE) {
+            hitCount.increment();
+            return entry.toSerializedQuery(shape.getValues());
+        }
+        missCount.increment();
+        SQLSerializer result = serializer.apply(metadata);
+        SerializedQuery query = new SerializedQuery(result.toString(), result.getConstants());
+        if (entry == null) {
+            entries.put(key, createEntry(shape, metadata, query, serializer));
+        }
+        return query;
+    }
+
+    private Entry createEntry(QueryShape shape, QueryMetadata metadata, SerializedQuery query,
+                              Function<QueryMetadata, SQLSerializer> serializer) {
+        SQLSerializer probe;
+        try {
+            probe = serializer.apply(shape.createProbe(metadata));
+        } catch (RuntimeException ex) {
+            return Entry.UNCACHEABLE;
+        }
+        // the probe must produce the same SQL and each binding must be either a slot of the shape
+        // or a constant which is part of the key
+        List<Object> probeConstants = probe.getConstants();
+        List<Object> constants = query.getConstants();
+        if (!probe.toString().equals(query.getSQL()) || probeConstants.size() != constants.size()) {
+            return Entry.UNCACHEABLE;
+        }
+        Object[] bindings = new Object[constants.size()];
+        for (int i = 0; i < bindings.length; i++) {
+            Object constant = constants.get(i);
+            QueryShape.Slot slot = shape.getSlot(probeConstants.get(i));
+            if (slot != null) {
+                if (!Objects.deepEquals(shape.getValues().get(slot.getIndex()), constant)) {
+                    return Entry.UNCACHEABLE;
+                }
+                bindings[i] = slot;
+            } else if (Objects.equals(probeConstants.get(i), constant)) {
+                bindings[i] = constant;
+            } else {
+                return Entry.UNCACHEABLE;
+            }
+        }
+        return new Entry(query.getSQL(), bindings);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.querydsl.r2dbc;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@link RowMapper} maps a row of a result into an object
+ *
+ * @param <T> result type
+ * @see RowMappers
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Map the given row
+     *
+     * @param row row of the result
+     * @param metadata metadata of the row
+     * @return mapped object
+     */
+    @Nonnull
+    T map(Row row, RowMetadata metadata);
+
+    /**
+     * Get the mapper of the rows of a single result. The returned mapper may resolve
+     * the metadata of the result once, on the first row.
+     *
+     * @return mapper of a single result
+     */
+    default RowMapper<T> forResult() {
+        return this;
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.querydsl.r2dbc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.corereactive.types.dsl.OptionalExpression;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link RowMappers} compiles projections into {@link RowMapper}s.
+ *
+ * <p>The column indexes and the types of the columns are resolved once per projection, nested
+ * {@link FactoryExpression}s are flattened into consecutive columns in the order of serialization.
+ * The column layouts of factory expressions are cached by the projection, but the instances are always
+ * created by the given projection, because equal factory expressions may differ in how they create
+ * the instances, e.g. the bindings of {@link com.querydsl.core.types.QBean}s.</p>
+ */
+public final class RowMappers {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final Cache<FactoryExpression<?>, FactoryLayout> layouts = CacheBuilder.newBuilder()
+            .maximumSize(DEFAULT_MAXIMUM_SIZE)
+            .build();
+
+    private RowMappers() {
+    }
+
+    /**
+     * Get the mapper of the given projection
+     *
+     * @param projection projection of the query
+     * @param <T> result type
+     * @return mapper of the projection
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> forProjection(Expression<T> projection) {
+        if (projection instanceof FactoryExpression) {
+            FactoryExpression<T> fe = (FactoryExpression<T>) projection;
+            try {
+                return new FactoryMapper<>(fe, layouts.get(fe, () -> new FactoryLayout(fe, 0)));
+            } catch (ExecutionException ex) {
+                throw new IllegalArgumentException("Unsupported projection " + projection, ex.getCause());
+            }
+        } else if (projection.equals(Wildcard.all)) {
+            return (RowMapper<T>) WildcardMapper.INSTANCE;
+        } else if (projection instanceof OptionalExpression) {
+            return (RowMapper<T>) new OptionalMapper<>(((OptionalExpression<?>) projection).getWrappedType());
+        } else {
+            return new RequiredMapper<>(projection.getType());
+        }
+    }
+
+    /**
+     * Get the number of columns of the given projection
+     *
+     * @param projection projection
+     * @return number of the columns which are read by the mapper of the projection
+     */
+    private static int getColumnCount(Expression<?> projection) {
+        if (projection instanceof FactoryExpression) {
+            int count = 0;
+            for (Expression<?> arg : ((FactoryExpression<?>) projection).getArgs()) {
+                count += getColumnCount(arg);
+            }
+            return count;
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * Column indexes and types of the arguments of a factory expression
+     */
+    private static final class FactoryLayout {
+
+        private final int[] columns;
+
+        private final Class<?>[] types;
+
+        private final FactoryLayout[] nested;
+
+        private FactoryLayout(FactoryExpression<?> factory, int offset) {
+            List<Expression<?>> args = factory.getArgs();
+            this.columns = new int[args.size()];
+            this.types = new Class<?>[args.size()];
+            this.nested = new FactoryLayout[args.size()];
+            int column = offset;
+            for (int i = 0; i < columns.length; i++) {
+                Expression<?> arg = args.get(i);
+                columns[i] = column;
+                if (arg instanceof FactoryExpression) {
+                    nested[i] = new FactoryLayout((FactoryExpression<?>) arg, column);
+                    column += getColumnCount(arg);
+                } else {
+                    types[i] = arg.getType();
+                    column++;
+                }
+            }
+        }
+
+        private <T> T newInstance(FactoryExpression<T> factory, Row row) {
+            List<Expression<?>> factoryArgs = factory.getArgs();
+            Object[] args = new Object[columns.length];
+            for (int i = 0; i < args.length; i++) {
+                FactoryLayout layout = nested[i];
+                args[i] = layout != null
+                        ? layout.newInstance((FactoryExpression<?>) factoryArgs.get(i), row)
+                        : row.get(columns[i], types[i]);
+            }
+            return factory.newInstance(args);
+        }
+
+    }
+
+    private static final class FactoryMapper<T> implements RowMapper<T> {
+
+        private final FactoryExpression<T> factory;
+
+        private final FactoryLayout layout;
+
+        private FactoryMapper(FactoryExpression<T> factory, FactoryLayout layout) {
+            this.factory = factory;
+            this.layout = layout;
+        }
+
+        @Nonnull
+        @Override
+        public T map(Row row, RowMetadata metadata) {
+            return Objects.requireNonNull(layout.newInstance(factory, row), "Null result");
+        }
+
+    }
+
+    private static final class RequiredMapper<T> implements RowMapper<T> {
+
+        private final Class<? extends T> type;
+
+        private RequiredMapper(Class<? extends T> type) {
+            this.type = type;
+        }
+
+        @Nonnull
+        @Override
+        public T map(Row row, RowMetadata metadata) {
+            return Objects.requireNonNull(row.get(0, type), "Null result");
+        }
+
+    }
+
+    private static final class OptionalMapper<T> implements RowMapper<Optional<T>> {
+
+        private final Class<? extends T> type;
+
+        private OptionalMapper(Class<? extends T> type) {
+            this.type = type;
+        }
+
+        @Nonnull
+        @Override
+        public Optional<T> map(Row row, RowMetadata metadata) {
+            return Optional.ofNullable(row.get(0, type));
+        }
+
+    }
+
+    private static final class WildcardMapper implements RowMapper<Object[]> {
+
+        private static final WildcardMapper INSTANCE = new WildcardMapper();
+
+        @Nonnull
+        @Override
+        public Object[] map(Row row, RowMetadata metadata) {
+            return forResult().map(row, metadata);
+        }
+
+        @Override
+        public RowMapper<Object[]> forResult() {
+            return new WildcardResultMapper();
+        }
+
+    }
+
+    private static final class WildcardResultMapper implements RowMapper<Object[]> {
+
+        private Class<?>[] types;
+
+        @Nonnull
+        @Override
+        public Object[] map(Row row, RowMetadata metadata) {
+            Class<?>[] types = this.types;
+            if (types == null) {
+                types = this.types = getTypes(metadata);
+            }
+            Object[] args = new Object[types.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = row.get(i, types[i]);
+            }
+            return args;
+        }
+
+        private static Class<?>[] getTypes(RowMetadata metadata) {
+            List<Class<?>> types = new ArrayList<>();
+            for (ColumnMetadata columnMetadata : metadata.getColumnMetadatas()) {
+                types.add(Objects.requireNonNull(columnMetadata.getJavaType(), "Unknown Java type"));
+            }
+            return types.toArray(new Class<?>[0]);
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.querydsl.r2dbc;
+
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLServerTemplates;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLiteTemplates;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * {@link StatementLimits} defines the size limits of a single statement of the dialect.
+ * Multi-row statements are split into chunks which are within these limits.
+ */
+public final class StatementLimits {
+
+    /**
+     * Bind parameter limit of the PostgreSQL wire protocol
+     */
+    public static final StatementLimits POSTGRESQL = new StatementLimits(65535, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Prepared statement placeholder limit of MySQL, the byte limit is the
+     * default {@code max_allowed_packet} of MySQL 5.7 with some room for the SQL text
+     */
+    public static final StatementLimits MYSQL = new StatementLimits(65535, Integer.MAX_VALUE, 3L * 1024 * 1024);
+
+    /**
+     * Parameter limit and table value constructor row limit of SQL Server
+     */
+    public static final StatementLimits SQLSERVER = new StatementLimits(2100, 1000, Long.MAX_VALUE);
+
+    /**
+     * Default host parameter limit of SQLite before 3.32
+     */
+    public static final StatementLimits SQLITE = new StatementLimits(999, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Conservative limits of the other dialects
+     */
+    public static final StatementLimits DEFAULT = new StatementLimits(32767, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxParameters;
+
+    private final int maxRows;
+
+    private final long maxBytes;
+
+    /**
+     * Create the limits of a statement
+     *
+     * @param maxParameters maximum number of bind parameters
+     * @param maxRows maximum number of rows of a multi-row statement
+     * @param maxBytes maximum estimated size of the bound values in bytes
+     */
+    public StatementLimits(@Nonnegative int maxParameters, @Nonnegative int maxRows, @Nonnegative long maxBytes) {
+        if (maxParameters <= 0 || maxRows <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Invalid statement limits " + maxParameters + ", " + maxRows + ", " + maxBytes);
+        }
+        this.maxParameters = maxParameters;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the limits of the dialect of the given templates
+     *
+     * @param templates templates of the dialect
+     * @return statement limits
+     */
+    public static StatementLimits of(SQLTemplates templates) {
+        if (templates instanceof PostgreSQLTemplates) {
+            return POSTGRESQL;
+        } else if (templates instanceof MySQLTemplates) {
+            return MYSQL;
+        } else if (templates instanceof SQLServerTemplates) {
+            return SQLSERVER;
+        } else if (templates instanceof SQLiteTemplates) {
+            return SQLITE;
+        } else {
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * @return maximum number of bind parameters
+     */
+    public int getMaxParameters() {
+        return maxParameters;
+    }
+
+    /**
+     * @return maximum number of rows of a multi-row statement
+     */
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * @return maximum estimated size of the bound values in bytes
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Estimate the size of the given bound value in bytes
+     *
+     * @param value bound value
+     * @return estimated size
+     */
+    public static long estimateSize(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else {
+            return 8;
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.querydsl.r2dbc;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link TransactionalR2dbcConnectionProvider} provides the connection which is bound
+ * to the Reactor {@link Context} by {@link #transactional(Supplier)}.
+ *
+ * <pre>
+ * TransactionalR2dbcConnectionProvider provider = TransactionalR2dbcConnectionProvider.of(connectionFactory);
+ * PostgreSqlR2dbcQueryFactory queryFactory = new PostgreSqlR2dbcQueryFactory(provider);
+ * Mono&lt;Long&gt; moved = provider.transactional(() -&gt; queryFactory.delete(locale)
+ *         .where(locale.countryCode.eq("UK"))
+ *         .execute()
+ *         .flatMap(deleted -&gt; queryFactory.insert(locale)
+ *                 .set(locale.countryCode, "GB")
+ *                 ...
+ *                 .execute()))
+ *         .single();
+ * </pre>
+ *
+ * <p>Outside of a transaction, every query and clause acquires a connection from the connection factory,
+ * typically a pool, and releases it when its result completes, fails or is cancelled, unless the connection
+ * is shared by {@link #withSharedConnection(Supplier)}.</p>
+ */
+public final class TransactionalR2dbcConnectionProvider implements R2dbcConnectionProvider {
+
+    /**
+     * @param connectionFactory the factory of the connections, typically a pool
+     */
+    public static TransactionalR2dbcConnectionProvider of(@Nonnull ConnectionFactory connectionFactory) {
+        return new TransactionalR2dbcConnectionProvider(connectionFactory);
+    }
+
+    private final ConnectionFactory connectionFactory;
+
+    // distinct for each provider, so the transactions of different databases do not mix
+    private final Object transactionKey = new Object();
+
+    private final Object sharedKey = new Object();
+
+    private TransactionalR2dbcConnectionProvider(@Nonnull ConnectionFactory connectionFactory) {
+        this.connectionFactory = Objects.requireNonNull(connectionFactory, "Connection factory is required");
+    }
+
+    @Override
+    public Mono<Connection> getConnection() {
+        return Mono.subscriberContext()
+                .flatMap(context -> Mono.justOrEmpty(boundConnection(context)))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No transaction")));
+    }
+
+    @Override
+    public <T> Flux<T> withConnection(Function<? super Connection, ? extends Publisher<? extends T>> action) {
+        return Mono.subscriberContext().flatMapMany(context -> {
+            Optional<Connection> connection = boundConnection(context);
+            if (connection.isPresent()) {
+                return Flux.from(action.apply(connection.get()));
+            } else {
+                return Flux.usingWhen(connectionFactory.create(), action, Connection::close);
+            }
+        });
+    }
+
+    /**
+     * Run the given work on a single connection without a transaction. The connection is released when
+     * the result of the work completes, fails or is cancelled. If there is a transaction or a shared connection
+     * already, the work uses it.
+     *
+     * @param work the queries and clauses to execute on the same connection
+     * @param <T> type of the result
+     * @return the result of the work
+     */
+    @Override
+    public <T> Flux<T> withSharedConnection(Supplier<? extends Publisher<T>> work) {
+        return Mono.subscriberContext().flatMapMany(context -> {
+            if (boundConnection(context).isPresent()) {
+                return Flux.defer(work);
+            }
+            return Flux.usingWhen(connectionFactory.create(),
+                    connection -> Flux.defer(work).subscriberContext(Context.of(sharedKey, connection)),
+                    Connection::close);
+        });
+    }
+
+    /**
+     * Run the given work in a transaction. A connection is acquired for the whole work, the transaction
+     * is committed when the result of the work completes, and rolled back when it fails or is cancelled.
+     * The connection is released afterwards.
+     *
+     * <p>The queries and clauses of the work, created by factories of this provider, use the connection
+     * of the transaction when they are subscribed. If there is a transaction already, the work joins it,
+     * if there is a shared connection, the transaction is begun on it.</p>
+     *
+     * @param work the queries and clauses to execute in the transaction
+     * @param <T> type of the result
+     * @return the result of the work
+     */
+    public <T> Flux<T> transactional(Supplier<? extends Publisher<T>> work) {
+        return Mono.subscriberContext().flatMapMany(context -> {
+            if (context.hasKey(transactionKey)) {
+                return Flux.defer(work);
+            }
+            Optional<Connection> shared = context.getOrEmpty(sharedKey);
+            if (shared.isPresent()) {
+                return inTransaction(shared.get(), work);
+            }
+            return Flux.usingWhen(connectionFactory.create(), connection -> inTransaction(connection, work), Connection::close);
+        });
+    }
+
+    private <T> Flux<T> inTransaction(Connection connection, Supplier<? extends Publisher<T>> work) {
+        return Flux.usingWhen(
+                Mono.from(connection.beginTransaction()).thenReturn(connection),
+                transaction -> Flux.defer(work),
+                Connection::commitTransaction,
+                (transaction, error) -> transaction.rollbackTransaction(),
+                Connection::rollbackTransaction)
+                .subscriberContext(Context.of(transactionKey, connection));
+    }
+
+    private Optional<Connection> boundConnection(Context context) {
+        Optional<Connection> connection = context.getOrEmpty(transactionKey);
+        return connection.isPresent() ? connection : context.getOrEmpty(sharedKey);
+    }
+
+}
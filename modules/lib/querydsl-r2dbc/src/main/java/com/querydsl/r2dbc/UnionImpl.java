@@ -3,6 +3,7 @@ package com.querydsl.r2dbc;
 import com.querydsl.core.NonUniqueResultException;
 import com.querydsl.core.Query;
 import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryResults;
 import com.querydsl.core.types.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -32,6 +33,21 @@ final class UnionImpl<T, Q extends ProjectableR2dbcQuery<T, Q> & Query<Q>> imple
         return query.fetchOne();
     }
 
+    @Override
+    public Mono<Boolean> fetchExists() {
+        return query.fetchExists();
+    }
+
+    @Override
+    public Mono<Long> fetchCount() {
+        return query.fetchCount();
+    }
+
+    @Override
+    public Mono<QueryResults<T>> fetchResults() {
+        return query.fetchResults();
+    }
+
     @Override
     public Union<T> groupBy(Expression<?>... o) {
         query.groupBy(o);
@@ -1,18 +1,27 @@
 package com.querydsl.r2dbc.dml;
 
-import com.querydsl.core.types.ParamExpression;
-import com.querydsl.core.types.ParamNotSetException;
-import com.querydsl.core.types.Path;
+import com.querydsl.core.types.*;
 import com.querydsl.corereactive.dml.DMLClause;
+import com.querydsl.r2dbc.EntityProjection;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.r2dbc.RowMapper;
+import com.querydsl.r2dbc.RowMappers;
 import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.types.Null;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * {@link AbstractR2dbcClause} is a superclass for SQL based DMLClause implementations
@@ -26,6 +35,10 @@ public abstract class AbstractR2dbcClause<C extends AbstractR2dbcClause<C>> impl
 
     protected boolean useLiterals;
 
+    protected boolean useArrayParameters;
+
+    protected boolean useInListPadding;
+
     public AbstractR2dbcClause(R2dbcConnectionProvider connProvider, Configuration configuration) {
         this.connProvider = connProvider;
         this.configuration = configuration;
@@ -54,6 +67,43 @@ public abstract class AbstractR2dbcClause<C extends AbstractR2dbcClause<C>> impl
         return self();
     }
 
+    /**
+     * Set whether the IN and NOT IN predicates of collections are bound as a single array parameter
+     * instead of a parameter for each element (default: false). Will revert to a parameter for each
+     * element, if arrays are not supported.
+     *
+     * <p>The SQL of the predicates doesn't depend on the size of the collections, so the batches
+     * with different collection sizes share a statement.</p>
+     *
+     * @param useArrayParameters true for array parameters
+     */
+    public final void setUseArrayParameters(boolean useArrayParameters) {
+        this.useArrayParameters = useArrayParameters && configuration.getTemplates() instanceof PostgreSQLTemplates;
+    }
+
+    public final C withArrayParameters() {
+        setUseArrayParameters(true);
+        return self();
+    }
+
+    /**
+     * Set whether the IN and NOT IN lists of collections are padded to the next power of two
+     * (default: false), see {@link R2dbcSerializer#setUseInListPadding(boolean)}.
+     *
+     * <p>The lists have only a few different sizes, so the batches with different list sizes
+     * share a few statements on the dialects without array parameters.</p>
+     *
+     * @param useInListPadding true for padded lists
+     */
+    public final void setUseInListPadding(boolean useInListPadding) {
+        this.useInListPadding = useInListPadding;
+    }
+
+    public final C withInListPadding() {
+        setUseInListPadding(true);
+        return self();
+    }
+
     protected final Mono<Connection> requireConnection() {
         if (connProvider != null) {
             return connProvider.getConnection();
@@ -62,6 +112,70 @@ public abstract class AbstractR2dbcClause<C extends AbstractR2dbcClause<C>> impl
         }
     }
 
+    protected final <R> Flux<R> withConnection(Function<? super Connection, ? extends Publisher<? extends R>> action) {
+        if (connProvider != null) {
+            return connProvider.withConnection(action);
+        } else {
+            throw new IllegalStateException("No connection provided");
+        }
+    }
+
+    /**
+     * Create the statement of the given SQL and bind the rows of it,
+     * separated by {@link Statement#add()}
+     *
+     * @param connection connection of the statement
+     * @param statement SQL and bindings
+     * @return statement ready for execution
+     */
+    final Statement prepareStatement(Connection connection, BatchStatement statement) {
+        return prepareStatement(connection, statement.getSql(), statement);
+    }
+
+    private Statement prepareStatement(Connection connection, String sql, BatchStatement statement) {
+        Statement stmt = connection.createStatement(sql);
+        for (int i = 0; i < statement.getBindingCount(); i++) {
+            if (i > 0) {
+                stmt.add();
+            }
+            setParameters(stmt, statement.getConstants(i), statement.getConstantPaths(i), statement.getParams(i), 0);
+        }
+        return stmt;
+    }
+
+    /**
+     * Execute the given statements with a RETURNING clause of the given projection.
+     * The statements are executed one after the other, so the rows are returned in the
+     * order of the statements and of their bindings.
+     *
+     * @param entity table of the statements
+     * @param statements creates the statements of the clause
+     * @param projection projection of the returned rows
+     * @param <T> result type
+     * @return projection of the affected rows
+     */
+    final <T> Flux<T> executeReturning(RelationalPath<?> entity, Supplier<List<BatchStatement>> statements,
+                                      Expression<T> projection) {
+        Expression<T> converted = EntityProjection.convert(projection);
+        RowMapper<T> mapper = RowMappers.forProjection(converted).forResult();
+        String returning = serializeReturning(entity, converted);
+        return withConnection(connection -> Flux.fromIterable(statements.get())
+                        .concatMap(statement -> Flux.from(prepareStatement(connection, statement.getSql() + returning, statement)
+                                .execute())
+                                .concatMap(result -> result.map(mapper::map))));
+    }
+
+    private String serializeReturning(RelationalPath<?> entity, Expression<?> projection) {
+        List<? extends Expression<?>> columns = projection instanceof FactoryExpression
+                ? ((FactoryExpression<?>) projection).getArgs()
+                : Collections.singletonList(projection);
+        // the clause is appended to the statements, so its constants can't be bound
+        R2dbcSerializer serializer = new R2dbcSerializer(configuration, true);
+        serializer.setUseLiterals(true);
+        serializer.serializeReturning(entity, columns);
+        return serializer.toString();
+    }
+
     protected final void setParameters(
             Statement stmt, List<?> objects,
             List<Path<?>> constantPaths, Map<ParamExpression<?>, ?> params, int offset) {
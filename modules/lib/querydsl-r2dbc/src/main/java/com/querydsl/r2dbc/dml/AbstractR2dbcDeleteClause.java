@@ -1,24 +1,23 @@
 package com.querydsl.r2dbc.dml;
 
+import com.google.common.collect.ImmutableSet;
 import com.querydsl.core.*;
 import com.querydsl.core.QueryFlag.Position;
-import com.querydsl.core.types.Expression;
-import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.ValidatingVisitor;
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.corereactive.dml.DeleteClause;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
-import com.querydsl.r2dbc.internal.R2dbcUtils;
-import com.querydsl.sql.Configuration;
-import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.SQLSerializer;
-import io.r2dbc.spi.Connection;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.r2dbc.StatementLimits;
+import com.querydsl.sql.*;
 import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnegative;
-import java.util.ArrayList;
-import java.util.List;
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.*;
 
 /**
  * Provides a base class for dialect-specific DELETE clauses.
@@ -31,15 +30,21 @@ public abstract class AbstractR2dbcDeleteClause<C extends AbstractR2dbcDeleteCla
             "A delete operation can only reference a single table. " +
             "Consider this alternative: DELETE ... WHERE EXISTS (subquery)");
 
+    private static final Set<Class<?>> ARRAY_TYPES = ImmutableSet.<Class<?>>of(
+            String.class, Long.class, Integer.class, Short.class);
+
     private final RelationalPath<?> entity;
 
     private final List<QueryMetadata> batches = new ArrayList<>();
 
     private DefaultQueryMetadata metadata = new DefaultQueryMetadata();
 
+    private StatementLimits statementLimits;
+
     public AbstractR2dbcDeleteClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
         super(connection, configuration);
         this.entity = entity;
+        this.statementLimits = StatementLimits.of(configuration.getTemplates());
         metadata.addJoin(JoinType.DEFAULT, entity);
         metadata.setValidatingVisitor(validatingVisitor);
     }
@@ -77,6 +82,9 @@ public abstract class AbstractR2dbcDeleteClause<C extends AbstractR2dbcDeleteCla
     /**
      * Add current state of bindings as a batch item
      *
+     * <p>The batches which delete rows by the values of the same columns are collapsed into
+     * a few statements, the other batches are grouped by their shape.</p>
+     *
      * @return the current object
      */
     public C addBatch() {
@@ -115,13 +123,27 @@ public abstract class AbstractR2dbcDeleteClause<C extends AbstractR2dbcDeleteCla
         return self();
     }
 
+    /**
+     * Set the limits of a single statement. The batches which delete rows by the values of the same columns
+     * are collapsed into statements within these limits, the default is the limits of the dialect.
+     *
+     * @param statementLimits limits of a statement
+     * @return the current object
+     */
+    public C withStatementLimits(StatementLimits statementLimits) {
+        this.statementLimits = Objects.requireNonNull(statementLimits);
+        return self();
+    }
+
     public int getBatchCount() {
         return batches.size();
     }
 
     private SQLSerializer createSerializer() {
-        SQLSerializer serializer = new SQLSerializer(configuration, true);
+        R2dbcSerializer serializer = new R2dbcSerializer(configuration, true);
         serializer.setUseLiterals(useLiterals);
+        serializer.setUseArrayParameters(useArrayParameters);
+        serializer.setUseInListPadding(useInListPadding);
         return serializer;
     }
 
@@ -138,58 +160,198 @@ public abstract class AbstractR2dbcDeleteClause<C extends AbstractR2dbcDeleteCla
 
     @Override
     public Mono<Long> execute() {
-        if (batches.isEmpty()) {
-            return requireConnection()
-                    .map(this::createStatement)
-                    .flatMap(this::executeStatement);
-        } else {
-            return requireConnection()
-                    .map(this::createStatement)
-                    .flatMapMany(this::executeNonBulkBatchStatement)
-                    .reduce(0L, Long::sum);
-        }
+        return withConnection(connection -> Flux.fromIterable(createBatchStatements())
+                        .concatMap(statement -> executeStatement(prepareStatement(connection, statement))))
+                .reduce(0L, Long::sum);
     }
 
-    private Mono<Long> executeStatement(Statement stmt) {
-        return Mono.from(stmt.execute())
-                .flatMap(result -> Mono.from(result.getRowsUpdated()))
-                .map(Long::valueOf);
+    /**
+     * Execute the clause and get the given projection of the deleted rows, supported only by
+     * the dialects with a RETURNING clause. The rows are returned in the order of the statements
+     * of the batches.
+     *
+     * @param projection projection of the deleted rows
+     * @param <T> result type
+     * @return projection of the deleted rows
+     */
+    protected <T> Flux<T> executeReturning(Expression<T> projection) {
+        return executeReturning(entity, this::createBatchStatements, projection);
     }
 
-    private Flux<Long> executeNonBulkBatchStatement(Statement stmt) {
+    private Flux<Long> executeStatement(Statement stmt) {
         return Flux.from(stmt.execute())
                 .flatMap(result -> Mono.from(result.getRowsUpdated()))
                 .map(Long::valueOf);
     }
 
-    private Statement createStatement(Connection connection) {
-        SQLSerializer serializer = createSerializerAndSerialize();
-        return prepareStatementAndSetParameters(connection, serializer);
+    /**
+     * Create the statements of the clause. The batches which delete rows by the values of the same columns
+     * are collapsed into statements which delete the rows of many batches, the other batches are grouped
+     * by their shape.
+     *
+     * @return statements to execute
+     */
+    private List<BatchStatement> createBatchStatements() {
+        if (batches.isEmpty()) {
+            SQLSerializer serializer = createSerializerAndSerialize();
+            return Collections.singletonList(new BatchStatement(serializer, metadata.getParams()));
+        } else if (useLiterals) {
+            throw new UnsupportedOperationException("Batch deletes are not supported with literals");
+        }
+        List<BatchShape> shapes = new ArrayList<>(batches.size());
+        Map<List<Object>, List<Integer>> keyLookups = new LinkedHashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            BatchShape shape = BatchShape.of(batches.get(i), Collections.emptyMap());
+            shapes.add(shape);
+            if (shape != null && shape.isKeyLookup() && isCollapsible(shape.getLookupColumns())) {
+                keyLookups.computeIfAbsent(shape.getKey(), key -> new ArrayList<>()).add(i);
+            }
+        }
+        BatchStatements statements = new BatchStatements();
+        boolean[] collapsed = new boolean[batches.size()];
+        for (List<Integer> indexes : keyLookups.values()) {
+            if (indexes.size() > 1) {
+                List<BatchShape> lookups = new ArrayList<>(indexes.size());
+                for (int i : indexes) {
+                    lookups.add(shapes.get(i));
+                    collapsed[i] = true;
+                }
+                addKeyLookupStatements(statements, batches.get(indexes.get(0)), lookups);
+            }
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            if (!collapsed[i]) {
+                QueryMetadata batch = batches.get(i);
+                statements.add(shapes.get(i), () -> {
+                    SQLSerializer serializer = createSerializer();
+                    serializer.serializeDelete(batch, entity);
+                    return serializer;
+                }, batch.getParams());
+            }
+        }
+        return statements.getStatements();
     }
 
-    private Statement prepareStatementAndSetParameters(Connection connection, SQLSerializer serializer) {
-        String queryString = serializer.toString();
-        queryString = R2dbcUtils.replaceBindingArguments(queryString);
-        Statement stmt = connection.createStatement(queryString);
-        if (batches.isEmpty()) {
-            setParameters(stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams(), 0);
-        } else {
-            int offset = 0;
-            for (QueryMetadata batch : batches) {
-                if (useLiterals) {
-                    throw new UnsupportedOperationException("Batch deletes are not supported with literals");
+    private boolean isCollapsible(List<Path<?>> columns) {
+        SQLTemplates templates = configuration.getTemplates();
+        return columns.size() == 1
+                || templates instanceof PostgreSQLTemplates
+                || templates instanceof MySQLTemplates
+                || templates instanceof H2Templates
+                || templates instanceof HSQLDBTemplates
+                || templates instanceof OracleTemplates
+                || templates instanceof SQLiteTemplates;
+    }
+
+    /**
+     * Add the statements which delete the rows of the given lookups. The rows are deleted by a single
+     * {@code = any(array)} statement on PostgreSQL, otherwise by {@code in} statements within the
+     * statement limits.
+     *
+     * @param statements statements of the clause
+     * @param first metadata of the first lookup
+     * @param lookups shapes of the lookups with the same columns
+     */
+    private void addKeyLookupStatements(BatchStatements statements, QueryMetadata first, List<BatchShape> lookups) {
+        List<Path<?>> columns = lookups.get(0).getLookupColumns();
+        Object array = columns.size() == 1 ? createArray(columns.get(0), lookups) : null;
+        if (array != null) {
+            Predicate predicate = Expressions.booleanTemplate("{0} = any({1})", columns.get(0), ConstantImpl.create(array));
+            statements.add(new BatchStatement(serializeDelete(first, predicate), first.getParams()));
+            return;
+        }
+        for (List<BatchShape> chunk : createChunks(lookups)) {
+            Predicate predicate;
+            if (columns.size() == 1) {
+                List<Object> values = new ArrayList<>(chunk.size());
+                for (BatchShape lookup : chunk) {
+                    values.add(lookup.getLookupValues().get(0));
+                }
+                predicate = in(columns.get(0), values);
+            } else {
+                List<Expression<?>> rows = new ArrayList<>(chunk.size());
+                for (BatchShape lookup : chunk) {
+                    List<Expression<?>> row = new ArrayList<>(columns.size());
+                    for (Object value : lookup.getLookupValues()) {
+                        row.add(ConstantImpl.create(value));
+                    }
+                    rows.add(Expressions.template(Object.class, "({0})", ExpressionUtils.list(Object.class, row)));
                 }
-                setBatchParameters(stmt, batch, offset);
-                stmt.add();
+                predicate = ExpressionUtils.predicateTemplate("({0}) in ({1})",
+                        ExpressionUtils.list(Object.class, new ArrayList<Expression<?>>(columns)),
+                        ExpressionUtils.list(Object.class, rows));
+            }
+            statements.add(new BatchStatement(serializeDelete(first, predicate), first.getParams()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate in(Path<?> column, List<Object> values) {
+        return ExpressionUtils.in((Path<Object>) column, values);
+    }
+
+    /**
+     * Create the array of the values of the given lookups, if the column type has an array codec
+     *
+     * @return array of the values or null if the values can't be bound as an array
+     */
+    @Nullable
+    private Object createArray(Path<?> column, List<BatchShape> lookups) {
+        Class<?> type = column.getType();
+        if (!(configuration.getTemplates() instanceof PostgreSQLTemplates) || !ARRAY_TYPES.contains(type)) {
+            return null;
+        }
+        Object array = Array.newInstance(type, lookups.size());
+        for (int i = 0; i < lookups.size(); i++) {
+            Object value = lookups.get(i).getLookupValues().get(0);
+            if (!type.isInstance(value)) {
+                return null;
             }
+            Array.set(array, i, value);
         }
-        return stmt;
+        return array;
     }
 
-    private <T> void setBatchParameters(Statement stmt, QueryMetadata batch, int offset) {
-        SQLSerializer helperSerializer = createSerializer();
-        helperSerializer.serializeDelete(batch, entity);
-        setParameters(stmt, helperSerializer.getConstants(), helperSerializer.getConstantPaths(), metadata.getParams(), offset);
+    /**
+     * Split the lookups into the largest chunks which are within the statement limits
+     */
+    private List<List<BatchShape>> createChunks(List<BatchShape> lookups) {
+        List<List<BatchShape>> chunks = new ArrayList<>();
+        List<BatchShape> chunk = new ArrayList<>();
+        int parameters = 0;
+        long bytes = 0;
+        for (BatchShape lookup : lookups) {
+            int rowParameters = lookup.getLookupValues().size();
+            long rowBytes = 0;
+            for (Object value : lookup.getLookupValues()) {
+                rowBytes += StatementLimits.estimateSize(value);
+            }
+            if (!chunk.isEmpty() && (chunk.size() >= statementLimits.getMaxRows()
+                    || parameters + rowParameters > statementLimits.getMaxParameters()
+                    || bytes + rowBytes > statementLimits.getMaxBytes())) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                parameters = 0;
+                bytes = 0;
+            }
+            chunk.add(lookup);
+            parameters += rowParameters;
+            bytes += rowBytes;
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    private SQLSerializer serializeDelete(QueryMetadata first, Predicate predicate) {
+        DefaultQueryMetadata lookupMetadata = new DefaultQueryMetadata();
+        lookupMetadata.addJoin(JoinType.DEFAULT, entity);
+        for (QueryFlag flag : first.getFlags()) {
+            lookupMetadata.addFlag(flag);
+        }
+        lookupMetadata.addWhere(predicate);
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeDelete(lookupMetadata, entity);
+        return serializer;
     }
 
 }
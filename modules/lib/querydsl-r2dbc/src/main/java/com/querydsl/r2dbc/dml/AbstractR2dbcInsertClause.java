@@ -6,25 +6,24 @@ import com.querydsl.core.QueryFlag;
 import com.querydsl.core.QueryMetadata;
 import com.querydsl.core.types.*;
 import com.querydsl.corereactive.dml.InsertClause;
+import com.querydsl.r2dbc.EntityProjection;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
-import com.querydsl.r2dbc.internal.R2dbcUtils;
-import com.querydsl.sql.ColumnMetadata;
-import com.querydsl.sql.Configuration;
-import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.SQLSerializer;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.r2dbc.RowMapper;
+import com.querydsl.r2dbc.RowMappers;
+import com.querydsl.r2dbc.StatementLimits;
+import com.querydsl.sql.*;
 import com.querydsl.sql.dml.SQLInsertBatch;
 import com.querydsl.sql.types.Null;
 import io.r2dbc.spi.Connection;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Provides a base class for dialect-specific INSERT clauses.
@@ -48,9 +47,12 @@ public abstract class AbstractR2dbcInsertClause<C extends AbstractR2dbcInsertCla
 
     private transient boolean batchToBulk;
 
+    private StatementLimits statementLimits;
+
     public AbstractR2dbcInsertClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
         super(connection, configuration);
         this.entity = entity;
+        this.statementLimits = StatementLimits.of(configuration.getTemplates());
         metadata.addJoin(JoinType.DEFAULT, entity);
     }
 
@@ -102,25 +104,74 @@ public abstract class AbstractR2dbcInsertClause<C extends AbstractR2dbcInsertCla
         this.batchToBulk = b && configuration.getTemplates().isBatchToBulkSupported();
     }
 
+    /**
+     * Set the limits of a single bulk statement. The batches of a bulk operation are split into
+     * statements within these limits, the default is the limits of the dialect.
+     *
+     * @param statementLimits limits of a statement
+     * @return the current object
+     */
+    public C withStatementLimits(StatementLimits statementLimits) {
+        this.statementLimits = Objects.requireNonNull(statementLimits);
+        return self();
+    }
+
     private SQLSerializer createSerializer() {
-        SQLSerializer serializer = new SQLSerializer(configuration, true);
+        R2dbcSerializer serializer = new R2dbcSerializer(configuration, true);
         serializer.setUseLiterals(useLiterals);
+        serializer.setUseArrayParameters(useArrayParameters);
+        serializer.setUseInListPadding(useInListPadding);
         return serializer;
     }
 
     private SQLSerializer createSerializerAndSerialize() {
+        return createSerializerAndSerialize(batches);
+    }
+
+    private SQLSerializer createSerializerAndSerialize(List<SQLInsertBatch> batches) {
         SQLSerializer serializer = createSerializer();
         if (!batches.isEmpty() && batchToBulk) {
-            serializer.serializeInsert(metadata, entity, batches);
+            serializer.serializeInsert(getMetadata(), entity, batches);
         } else if (!batches.isEmpty()) {
             SQLInsertBatch first = batches.get(0);
-            serializer.serializeInsert(metadata, entity, first.getColumns(), first.getValues(), subQuery);
+            serializer.serializeInsert(getMetadata(), entity, first.getColumns(), first.getValues(), subQuery);
         } else {
-            serializer.serializeInsert(metadata, entity, columns, values, subQuery);
+            serializer.serializeInsert(getMetadata(), entity, columns, values, subQuery);
         }
         return serializer;
     }
 
+    /**
+     * Get the metadata which is serialized into the statements of the clause.
+     * Subclasses may return a copy with additional flags.
+     *
+     * @return metadata of the statements
+     */
+    protected QueryMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return target table of the clause
+     */
+    protected final RelationalPath<?> getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return columns set by {@link #columns(Path[])}
+     */
+    protected final List<Path<?>> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @return batches added by {@link #addBatch()}
+     */
+    protected final List<SQLInsertBatch> getBatches() {
+        return Collections.unmodifiableList(batches);
+    }
+
     /**
      * Clear the internal state of the clause
      */
@@ -218,126 +269,216 @@ public abstract class AbstractR2dbcInsertClause<C extends AbstractR2dbcInsertCla
      * @param path path for key
      * @return generated key (the first in case of batch insert)
      */
-    @SuppressWarnings("unchecked")
     public <T> Mono<T> executeWithKey(Path<T> path) {
-        return executeWithKey((Class<T>) path.getType(), path);
-    }
-
-    private <T> Mono<T> executeWithKey(Class<T> type, @Nullable Path<T> path) {
-        Mapper<T> mapper = (row, metadata) -> Objects.requireNonNull(row.get(0, type), "Null key result");
-        return requireConnection()
-                .map(connection -> createStatement(connection, true))
-                .flatMap(connection -> executeStatementWithKey(connection, mapper));
+        return executeWithKeys(path).reduce((first, next) -> first);
     }
 
     /**
-     * Execute the clause and return the generated key with the type of the
-     * given path. If no rows were created, or the referenced column is not a
-     * generated primary key, empty is returned. Otherwise, the generated keys of the rows are
-     * returned.
+     * Execute the clause and return the given projection of the generated values of the inserted rows.
+     * The projection is a column, e.g. the generated primary key, a tuple of columns or the entity path
+     * of the table for the full rows. The values of all the rows are returned in the order of the rows,
+     * including the rows of batches and bulk statements.
+     *
+     * <p>The dialects which don't return the generated values of all the rows derive them,
+     * see {@link #createKeyMapper(Expression)}.</p>
      *
      * <p>Note that {@link com.querydsl.sql.dml.SQLInsertClause#executeWithKeys(Path)} has different behaviour:
      * That returns only the key of the first row.</p>
      *
-     * @param path path for key
-     * @return generated keys
+     * @param projection projection of the columns
+     * @return generated values of the rows
      */
-    public <T> Flux<T> executeWithKeys(Path<T> path) {
-        Mapper<T> mapper = (row, metadata) -> Objects.requireNonNull(row.get(0, path.getType()), "Null key result");
-        return requireConnection()
-                .map(connection -> createStatement(connection, true))
-                .flatMapMany(connection -> executeStatementWithKeys(connection, mapper));
+    public <T> Flux<T> executeWithKeys(Expression<T> projection) {
+        Expression<T> converted = EntityProjection.convert(projection);
+        List<Path<?>> columns = new ArrayList<>();
+        addColumns(columns, converted);
+        KeyMapper<T> mapper = createKeyMapper(converted);
+        return withConnection(connection -> Flux.fromIterable(createBatchStatements())
+                        .concatMap(statement -> Flux.from(prepareStatement(connection, statement, columns).execute())
+                                .concatMap(result -> mapper.map(result, statement.getRowsPerBinding()))));
     }
 
-    @Override
-    public Mono<Long> execute() {
-        if (batchToBulk || batches.isEmpty()) {
-            return requireConnection()
-                    .map(connection-> createStatement(connection, false))
-                    .flatMap(this::executeStatement);
-        } else {
-            return requireConnection()
-                    .map(connection-> createStatement(connection, false))
-                    .flatMapMany(this::executeNonBulkBatchStatement)
-                    .reduce(0L, Long::sum);
-        }
+    /**
+     * Create the mapper of the generated values of the given projection. The default maps the returned
+     * rows, the dialects which return only some of the generated values override this.
+     *
+     * @param projection projection of the columns
+     * @param <T> type of the projection
+     * @return mapper of the results of the statements
+     */
+    protected <T> KeyMapper<T> createKeyMapper(Expression<T> projection) {
+        RowMapper<T> rowMapper = RowMappers.forProjection(projection).forResult();
+        return (result, rows) -> result.map(rowMapper::map);
     }
 
-    private Mono<Long> executeStatement(Statement stmt) {
-        return Mono.from(stmt.execute())
-                .flatMap(result -> Mono.from(result.getRowsUpdated()))
-                .map(Long::valueOf);
+    private static void addColumns(List<Path<?>> columns, Expression<?> projection) {
+        if (projection instanceof FactoryExpression) {
+            for (Expression<?> arg : ((FactoryExpression<?>) projection).getArgs()) {
+                addColumns(columns, arg);
+            }
+        } else if (projection instanceof Path) {
+            columns.add((Path<?>) projection);
+        } else {
+            throw new IllegalArgumentException("Only columns can be returned, got " + projection);
+        }
     }
 
-    private <T> Mono<T> executeStatementWithKey(Statement stmt, Mapper<T> mapper) {
-        return Mono.from(stmt.execute())
-                .flatMap(result -> Mono.from(result.map(mapper::map)));
+    @Override
+    public Mono<Long> execute() {
+        return withConnection(connection -> Flux.fromIterable(createBatchStatements())
+                        .concatMap(statement -> executeStatement(prepareStatement(connection, statement))))
+                .reduce(0L, Long::sum);
     }
 
-    private Flux<Long> executeNonBulkBatchStatement(Statement stmt) {
+    private Flux<Long> executeStatement(Statement stmt) {
         return Flux.from(stmt.execute())
                 .flatMap(result -> Mono.from(result.getRowsUpdated()))
                 .map(Long::valueOf);
     }
 
-    private <T> Flux<T> executeStatementWithKeys(Statement stmt, Mapper<T> mapper) {
-        return Flux.from(stmt.execute())
-                .flatMap(result -> Mono.from(result.map(mapper::map)));
+    /**
+     * Create the statements of the clause. The rows of a bulk operation are split into chunks which
+     * are within the statement limits. Otherwise consecutive batch rows with the same SQL share
+     * a statement, with a binding for each row.
+     *
+     * @return statements in execution order
+     */
+    private List<BatchStatement> createBatchStatements() {
+        if (batches.isEmpty()) {
+            SQLSerializer serializer = createSerializerAndSerialize();
+            return Collections.singletonList(new BatchStatement(serializer, metadata.getParams()));
+        } else if (useLiterals) {
+            throw new UnsupportedOperationException("Batch inserts are not supported with literals");
+        } else if (batchToBulk) {
+            List<BatchStatement> statements = new ArrayList<>();
+            for (List<SQLInsertBatch> chunk : createChunks()) {
+                List<SQLInsertBatch> rows = getBulkRows(chunk);
+                statements.add(new BatchStatement(createSerializerAndSerialize(rows), metadata.getParams(), rows.size()));
+            }
+            return statements;
+        }
+        List<BatchStatement> statements = new ArrayList<>();
+        BatchStatement current = null;
+        List<Path<?>> constantColumns = null;
+        for (SQLInsertBatch batch : batches) {
+            if (current != null && batch.getColumns().equals(constantColumns) && isConstantRow(batch)) {
+                // same SQL as the previous row, only the constants differ
+                current.addBinding(getConstants(batch.getValues()), batch.getColumns(), metadata.getParams());
+                continue;
+            }
+            SQLSerializer serializer = serializeRow(batch);
+            String sql = serializer.toString();
+            if (current == null || !current.getSql().equals(sql)) {
+                current = new BatchStatement(sql);
+                statements.add(current);
+            }
+            current.addBinding(serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams());
+            constantColumns = isConstantRow(batch) && serializer.getConstants().size() == batch.getValues().size()
+                    ? batch.getColumns() : null;
+        }
+        return statements;
     }
 
-    private Statement createStatement(Connection connection, boolean withKeys) {
-        SQLSerializer serializer = createSerializerAndSerialize();
-        return prepareStatementAndSetParameters(connection, serializer, withKeys);
+    private SQLSerializer serializeRow(SQLInsertBatch batch) {
+        SQLSerializer serializer = createSerializer();
+        serializer.serializeInsert(getMetadata(), entity, batch.getColumns(), batch.getValues(), batch.getSubQuery());
+        return serializer;
     }
 
-    private Statement prepareStatementAndSetParameters(Connection connection, SQLSerializer serializer, boolean withKeys) {
-        String queryString = serializer.toString();
-        queryString = R2dbcUtils.replaceBindingArguments(queryString);
-        Statement stmt = connection.createStatement(queryString);
-        if (batches.isEmpty()) {
-            setParameters(stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams(), 0);
-        } else {
-            int offset = 0;
-            for (SQLInsertBatch batch : batches) {
-                if (useLiterals) {
-                    throw new UnsupportedOperationException("Batch inserts are not supported with literals");
-                }
-                setBatchParameters(stmt, batch, offset);
-                if (!batchToBulk) {
-                    stmt.add();
-                } else {
-                    offset++;
-                }
+    private static boolean isConstantRow(SQLInsertBatch batch) {
+        if (batch.getSubQuery() != null) {
+            return false;
+        }
+        for (Expression<?> value : batch.getValues()) {
+            if (!(value instanceof Constant)) {
+                return false;
             }
         }
-        if (withKeys) {
-            if (entity.getPrimaryKey() != null) {
-                String[] target = new String[entity.getPrimaryKey().getLocalColumns().size()];
-                for (int i = 0; i < target.length; i++) {
-                    Path<?> path = entity.getPrimaryKey().getLocalColumns().get(i);
-                    String column = ColumnMetadata.getName(path);
-                    target[i] = configuration.getTemplates().quoteIdentifier(column);
-                }
-                stmt.returnGeneratedValues(target);
+        return true;
+    }
+
+    private static List<Object> getConstants(List<Expression<?>> values) {
+        List<Object> constants = new ArrayList<>(values.size());
+        for (Expression<?> value : values) {
+            constants.add(((Constant<?>) value).getConstant());
+        }
+        return constants;
+    }
+
+    /**
+     * Split the batches into the largest bulk statements which are within the statement limits
+     *
+     * @return batches of the statements
+     */
+    private List<List<SQLInsertBatch>> createChunks() {
+        List<List<SQLInsertBatch>> chunks = new ArrayList<>();
+        List<SQLInsertBatch> chunk = new ArrayList<>();
+        int parameters = 0;
+        long bytes = 0;
+        for (SQLInsertBatch batch : batches) {
+            int rowParameters = isConstantRow(batch) ? batch.getValues().size() : serializeRow(batch).getConstants().size();
+            long rowBytes = estimateSize(batch);
+            if (!chunk.isEmpty() && (chunk.size() >= statementLimits.getMaxRows()
+                    || parameters + rowParameters > statementLimits.getMaxParameters()
+                    || bytes + rowBytes > statementLimits.getMaxBytes())) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                parameters = 0;
+                bytes = 0;
             }
+            chunk.add(batch);
+            parameters += rowParameters;
+            bytes += rowBytes;
         }
-        return stmt;
+        chunks.add(chunk);
+        return chunks;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> void setBatchParameters(Statement stmt, SQLInsertBatch batch, int offset) {
-        Map<ParamExpression<?>,Object> params = new HashMap<>();
-        List<Object> constants = batch.getValues()
-                .stream()
-                .map(c -> ((Constant<T>) c).getConstant()) // TODO: support expressions
-                .collect(Collectors.toList());
-        setParameters(stmt, constants, batch.getColumns(), params, offset);
+    /**
+     * Get the rows of a bulk statement
+     *
+     * @param chunk batches of the statement, see {@link #setStatementLimits(StatementLimits)}
+     * @return rows of the statement
+     */
+    protected List<SQLInsertBatch> getBulkRows(List<SQLInsertBatch> chunk) {
+        return chunk;
     }
 
+    private static long estimateSize(SQLInsertBatch batch) {
+        long size = 0;
+        for (Expression<?> value : batch.getValues()) {
+            size += StatementLimits.estimateSize(value instanceof Constant ? ((Constant<?>) value).getConstant() : null);
+        }
+        return size;
+    }
+
+    private Statement prepareStatement(Connection connection, BatchStatement statement, List<Path<?>> columns) {
+        Statement stmt = prepareStatement(connection, statement);
+        String[] target = new String[columns.size()];
+        for (int i = 0; i < target.length; i++) {
+            String column = ColumnMetadata.getName(columns.get(i));
+            target[i] = configuration.getTemplates().quoteIdentifier(column);
+        }
+        return stmt.returnGeneratedValues(target);
+    }
+
+    /**
+     * {@link KeyMapper} maps the result of a statement to the generated values of its rows
+     *
+     * @param <T> type of the generated values
+     */
     @FunctionalInterface
-    private interface Mapper<T> {
-        @Nonnull
-        T map(Row row, RowMetadata metadata);
+    protected interface KeyMapper<T> {
+
+        /**
+         * Map the given result
+         *
+         * @param result result of a binding of the statement
+         * @param rows number of rows inserted by a binding of the statement
+         * @return generated values of the rows
+         */
+        Publisher<T> map(Result result, int rows);
+
     }
 
 }
@@ -5,22 +5,19 @@ import com.querydsl.core.*;
 import com.querydsl.core.QueryFlag.Position;
 import com.querydsl.core.types.*;
 import com.querydsl.corereactive.dml.UpdateClause;
+import com.querydsl.r2dbc.BindMarkers;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
-import com.querydsl.r2dbc.internal.R2dbcUtils;
-import com.querydsl.sql.Configuration;
-import com.querydsl.sql.RelationalPath;
-import com.querydsl.sql.SQLSerializer;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.r2dbc.StatementLimits;
+import com.querydsl.sql.*;
 import com.querydsl.sql.dml.SQLUpdateBatch;
 import com.querydsl.sql.types.Null;
-import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnegative;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Provides a base class for dialect-specific UPDATE clauses.
@@ -29,6 +26,12 @@ import java.util.Map;
  */
 public abstract class AbstractR2dbcUpdateClause<C extends AbstractR2dbcUpdateClause<C>> extends AbstractR2dbcClause<C> implements UpdateClause<C> {
 
+    private static final String BULK_ALIAS = "v";
+
+    private static final String BULK_COLUMN = "c";
+
+    private static final Comparator<BatchShape> BULK_KEY_ORDER = AbstractR2dbcUpdateClause::compareKeys;
+
     protected final RelationalPath<?> entity;
 
     protected final List<SQLUpdateBatch> batches = new ArrayList<>();
@@ -37,9 +40,14 @@ public abstract class AbstractR2dbcUpdateClause<C extends AbstractR2dbcUpdateCla
 
     protected QueryMetadata metadata = new DefaultQueryMetadata();
 
+    private transient boolean batchToBulk;
+
+    private StatementLimits statementLimits;
+
     public AbstractR2dbcUpdateClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
         super(connection, configuration);
         this.entity = entity;
+        this.statementLimits = StatementLimits.of(configuration.getTemplates());
         metadata.addJoin(JoinType.DEFAULT, entity);
     }
 
@@ -76,7 +84,9 @@ public abstract class AbstractR2dbcUpdateClause<C extends AbstractR2dbcUpdateCla
     /**
      * Add the current state of bindings as a batch item.
      *
-     * Note that each state must contain the same column list with the same order.
+     * <p>The batches are grouped by their shape, the updated columns and the structure of the
+     * where clause. Consecutive batches of the same shape are executed as a single statement with
+     * a binding for each of them, so the batches are executed in the order of addition.</p>
      *
      * @return the current object
      */
@@ -153,6 +163,46 @@ public abstract class AbstractR2dbcUpdateClause<C extends AbstractR2dbcUpdateCla
         return self();
     }
 
+    /**
+     * Set batches which update rows by key to be optimized into set-based bulk operations.
+     * Will revert to batches, if bulk is not supported
+     * @return this
+     */
+    public C withBatchToBulk() {
+        setBatchToBulk(true);
+        return self();
+    }
+
+    /**
+     * Set whether batches which update rows by key should be optimized into set-based bulk operations.
+     * Will revert to batches, if bulk is not supported.
+     *
+     * <p>The batches which set constants to the same columns of the rows selected by the equality of
+     * the same key columns are joined to their rows in a single statement, {@code update ... from (values ...)}
+     * on PostgreSQL and {@code update ... join (select ... union all ...)} on MySQL. Only runs of consecutive
+     * batches are collapsed, so the batches are executed in the order of addition. The rows of a statement
+     * are sorted by key, if the keys are comparable, so concurrent bulk updates lock them in the same order.
+     * If a key is updated by more than one batch of a run, only the last of them is applied. The batches which
+     * update their own key columns are executed one by one, because a batch may select the rows updated by
+     * a previous one.</p>
+     */
+    public void setBatchToBulk(boolean b) {
+        SQLTemplates templates = configuration.getTemplates();
+        this.batchToBulk = b && (templates instanceof PostgreSQLTemplates || templates instanceof MySQLTemplates);
+    }
+
+    /**
+     * Set the limits of a single bulk statement. The batches of a bulk operation are split into
+     * statements within these limits, the default is the limits of the dialect.
+     *
+     * @param statementLimits limits of a statement
+     * @return the current object
+     */
+    public C withStatementLimits(StatementLimits statementLimits) {
+        this.statementLimits = Objects.requireNonNull(statementLimits);
+        return self();
+    }
+
     public C limit(@Nonnegative long limit) {
         metadata.setModifiers(QueryModifiers.limit(limit));
         return self();
@@ -169,63 +219,263 @@ public abstract class AbstractR2dbcUpdateClause<C extends AbstractR2dbcUpdateCla
 
     @Override
     public Mono<Long> execute() {
-        if (batches.isEmpty()) {
-            return requireConnection()
-                    .map(this::createStatement)
-                    .flatMap(this::executeStatement);
-        } else {
-            return requireConnection()
-                    .map(this::createStatement)
-                    .flatMapMany(this::executeNonBulkBatchStatement)
-                    .reduce(0L, Long::sum);
-        }
+        return withConnection(connection -> Flux.fromIterable(createBatchStatements())
+                        .concatMap(statement -> executeStatement(prepareStatement(connection, statement))))
+                .reduce(0L, Long::sum);
     }
 
-    private Mono<Long> executeStatement(Statement stmt) {
-        return Mono.from(stmt.execute())
-                .flatMap(result -> Mono.from(result.getRowsUpdated()))
-                .map(Long::valueOf);
+    /**
+     * Execute the clause and get the given projection of the updated rows, supported only by
+     * the dialects with a RETURNING clause. The rows are returned in the order of the statements
+     * of the batches.
+     *
+     * @param projection projection of the updated rows
+     * @param <T> result type
+     * @return projection of the updated rows
+     */
+    protected <T> Flux<T> executeReturning(Expression<T> projection) {
+        return executeReturning(entity, this::createBatchStatements, projection);
     }
 
-    private Flux<Long> executeNonBulkBatchStatement(Statement stmt) {
+    private Flux<Long> executeStatement(Statement stmt) {
         return Flux.from(stmt.execute())
                 .flatMap(result -> Mono.from(result.getRowsUpdated()))
                 .map(Long::valueOf);
     }
 
-    private Statement createStatement(Connection connection) {
-        SQLSerializer serializer = createSerializerAndSerialize();
-        return prepareStatementAndSetParameters(connection, serializer);
+    /**
+     * Create the statements of the clause. The SQL of a shape is generated once and consecutive
+     * batches of the same shape are bound to the same statement.
+     *
+     * @return statements in the order of the batches
+     */
+    private List<BatchStatement> createBatchStatements() {
+        if (batches.isEmpty()) {
+            SQLSerializer serializer = createSerializerAndSerialize();
+            return Collections.singletonList(new BatchStatement(serializer, metadata.getParams()));
+        } else if (useLiterals) {
+            throw new UnsupportedOperationException("Batch updates are not supported with literals");
+        }
+        // only the runs of consecutive batches with the same key are collapsed, so the order of execution is kept
+        BatchStatements statements = new BatchStatements();
+        List<Object> runKey = null;
+        List<Integer> run = new ArrayList<>();
+        List<BatchShape> shapes = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            SQLUpdateBatch batch = batches.get(i);
+            BatchShape shape = BatchShape.of(batch.getMetadata(), batch.getUpdates());
+            shapes.add(shape);
+            List<Object> key = null;
+            if (batchToBulk && shape != null && shape.isKeyLookup() && shape.isConstantUpdate()
+                    && batch.getMetadata().getFlags().isEmpty()
+                    && Collections.disjoint(batch.getUpdates().keySet(), shape.getLookupColumns())) {
+                key = Arrays.asList(new ArrayList<>(batch.getUpdates().keySet()), shape.getLookupColumns());
+            }
+            if (!run.isEmpty() && !runKey.equals(key)) {
+                addRun(statements, run, shapes);
+                run.clear();
+            }
+            runKey = key;
+            if (key != null) {
+                run.add(i);
+            } else {
+                addBatch(statements, i, shapes.get(i));
+            }
+        }
+        addRun(statements, run, shapes);
+        return statements.getStatements();
     }
 
-    private Statement prepareStatementAndSetParameters(Connection connection, SQLSerializer serializer) {
-        String queryString = serializer.toString();
-        queryString = R2dbcUtils.replaceBindingArguments(queryString);
-        Statement stmt = connection.createStatement(queryString);
-        if (batches.isEmpty()) {
-            setParameters(stmt, serializer.getConstants(), serializer.getConstantPaths(), metadata.getParams(), 0);
+    private void addBatch(BatchStatements statements, int index, BatchShape shape) {
+        SQLUpdateBatch batch = batches.get(index);
+        statements.add(shape, () -> {
+            SQLSerializer serializer = createSerializer();
+            serializer.serializeUpdate(batch.getMetadata(), entity, batch.getUpdates());
+            return serializer;
+        }, batch.getMetadata().getParams());
+    }
+
+    /**
+     * Add the statements of a run of consecutive batches which update the same columns by the same key columns.
+     * A single batch is added as is, the batches of a longer run are collapsed into bulk statements.
+     *
+     * @param statements statements of the clause
+     * @param run indexes of the batches
+     * @param shapes shapes of the batches
+     */
+    private void addRun(BatchStatements statements, List<Integer> run, List<BatchShape> shapes) {
+        if (run.size() == 1) {
+            addBatch(statements, run.get(0), shapes.get(run.get(0)));
+        } else if (run.size() > 1) {
+            List<BatchShape> rows = new ArrayList<>(run.size());
+            for (int i : run) {
+                rows.add(shapes.get(i));
+            }
+            addBulkStatements(statements, new ArrayList<>(batches.get(run.get(0)).getUpdates().keySet()), rows);
+        }
+    }
+
+    /**
+     * Add the bulk statements which update the given rows. Only the last row of a key is kept,
+     * the rows are sorted by key if the keys have a natural order, and they are split into statements
+     * within the statement limits.
+     *
+     * @param statements statements of the clause
+     * @param columns updated columns
+     * @param rows shapes of the batches, with the values of the columns and the key
+     */
+    private void addBulkStatements(BatchStatements statements, List<Path<?>> columns, List<BatchShape> rows) {
+        Map<List<Object>, BatchShape> rowsByKey = new LinkedHashMap<>();
+        for (BatchShape row : rows) {
+            rowsByKey.put(row.getLookupValues(), row);
+        }
+        List<BatchShape> distinct = new ArrayList<>(rowsByKey.values());
+        if (isSortable(distinct)) {
+            distinct.sort(BULK_KEY_ORDER);
+        }
+        List<Path<?>> keyColumns = rows.get(0).getLookupColumns();
+        List<Path<?>> rowColumns = new ArrayList<>(columns);
+        rowColumns.addAll(keyColumns);
+        List<BatchShape> chunk = new ArrayList<>();
+        int parameters = 0;
+        long bytes = 0;
+        for (BatchShape row : distinct) {
+            long rowBytes = 0;
+            for (Object value : row.getConstants()) {
+                rowBytes += StatementLimits.estimateSize(value);
+            }
+            if (!chunk.isEmpty() && (chunk.size() >= statementLimits.getMaxRows()
+                    || parameters + rowColumns.size() > statementLimits.getMaxParameters()
+                    || bytes + rowBytes > statementLimits.getMaxBytes())) {
+                statements.add(createBulkStatement(columns, keyColumns, chunk));
+                chunk = new ArrayList<>();
+                parameters = 0;
+                bytes = 0;
+            }
+            chunk.add(row);
+            parameters += rowColumns.size();
+            bytes += rowBytes;
+        }
+        statements.add(createBulkStatement(columns, keyColumns, chunk));
+    }
+
+    private BatchStatement createBulkStatement(List<Path<?>> columns, List<Path<?>> keyColumns, List<BatchShape> rows) {
+        SQLTemplates templates = configuration.getTemplates();
+        BindMarkers bindMarkers = BindMarkers.of(templates);
+        String table = getTableName();
+        int rowSize = columns.size() + keyColumns.size();
+        StringBuilder values = new StringBuilder();
+        List<Object> constants = new ArrayList<>(rows.size() * rowSize);
+        List<Path<?>> constantPaths = new ArrayList<>(rows.size() * rowSize);
+        for (BatchShape row : rows) {
+            if (templates instanceof MySQLTemplates) {
+                values.append(constants.isEmpty() ? "select " : "\nunion all select ");
+            } else {
+                values.append(constants.isEmpty() ? "values (" : ",\n(");
+            }
+            for (int i = 0; i < rowSize; i++) {
+                if (i > 0) {
+                    values.append(", ");
+                }
+                values.append(bindMarkers.getMarker(constants.size()));
+                if (templates instanceof MySQLTemplates && constants.size() < rowSize) {
+                    values.append(" as ").append(BULK_COLUMN).append(i);
+                }
+                constants.add(row.getConstants().get(i));
+                constantPaths.add(row.getConstantPaths().get(i));
+            }
+            if (!(templates instanceof MySQLTemplates)) {
+                values.append(")");
+            }
+        }
+        StringBuilder set = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                set.append(", ");
+            }
+            if (templates instanceof MySQLTemplates) {
+                set.append(table).append('.');
+            }
+            set.append(getColumnName(columns.get(i))).append(" = ").append(BULK_ALIAS).append('.').append(BULK_COLUMN).append(i);
+        }
+        StringBuilder join = new StringBuilder();
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                join.append(" and ");
+            }
+            join.append(table).append('.').append(getColumnName(keyColumns.get(i)))
+                    .append(" = ").append(BULK_ALIAS).append('.').append(BULK_COLUMN).append(columns.size() + i);
+        }
+        String sql;
+        if (templates instanceof MySQLTemplates) {
+            sql = templates.getUpdate() + table + "\njoin (" + values + ") as " + BULK_ALIAS + " on " + join
+                    + "\n" + templates.getSet() + set;
         } else {
-            int offset = 0;
-            for (SQLUpdateBatch batch : batches) {
-                if (useLiterals) {
-                    throw new UnsupportedOperationException("Batch updates are not supported with literals");
+            StringBuilder aliases = new StringBuilder();
+            for (int i = 0; i < rowSize; i++) {
+                aliases.append(i > 0 ? ", " : "").append(BULK_COLUMN).append(i);
+            }
+            sql = templates.getUpdate() + table + "\n" + templates.getSet() + set
+                    + "\nfrom (" + values + ") as " + BULK_ALIAS + " (" + aliases + ")"
+                    + templates.getWhere() + join;
+        }
+        BatchStatement statement = new BatchStatement(sql);
+        statement.addBinding(constants, constantPaths, Collections.emptyMap());
+        return statement;
+    }
+
+    private String getTableName() {
+        SQLTemplates templates = configuration.getTemplates();
+        SchemaAndTable schemaAndTable = configuration.getOverride(entity.getSchemaAndTable());
+        String table = templates.quoteIdentifier(schemaAndTable.getTable());
+        if (templates.isPrintSchema() && schemaAndTable.getSchema() != null) {
+            return templates.quoteIdentifier(schemaAndTable.getSchema()) + "." + table;
+        }
+        return table;
+    }
+
+    private String getColumnName(Path<?> column) {
+        String name = configuration.getColumnOverride(entity.getSchemaAndTable(), ColumnMetadata.getName(column));
+        return configuration.getTemplates().quoteIdentifier(name);
+    }
+
+    /**
+     * Get whether the keys of the given rows have a total order, i.e. each key column has
+     * comparable values of the same class
+     */
+    private static boolean isSortable(List<BatchShape> rows) {
+        List<Object> first = rows.get(0).getLookupValues();
+        for (BatchShape row : rows) {
+            List<Object> key = row.getLookupValues();
+            for (int i = 0; i < key.size(); i++) {
+                Object value = key.get(i);
+                if (!(value instanceof Comparable) || first.get(i) == null
+                        || !value.getClass().equals(first.get(i).getClass())) {
+                    return false;
                 }
-                setBatchParameters(stmt, batch, offset);
-                stmt.add();
             }
         }
-        return stmt;
+        return true;
     }
 
-    private <T> void setBatchParameters(Statement stmt, SQLUpdateBatch batch, int offset) {
-        SQLSerializer helperSerializer = createSerializer();
-        helperSerializer.serializeUpdate(batch.getMetadata(), entity, batch.getUpdates());
-        setParameters(stmt, helperSerializer.getConstants(), helperSerializer.getConstantPaths(), batch.getMetadata().getParams(), offset);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(BatchShape first, BatchShape second) {
+        List<Object> firstKey = first.getLookupValues();
+        List<Object> secondKey = second.getLookupValues();
+        for (int i = 0; i < firstKey.size(); i++) {
+            int result = ((Comparable) firstKey.get(i)).compareTo(secondKey.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
     }
 
     private SQLSerializer createSerializer() {
-        SQLSerializer serializer = new SQLSerializer(configuration, true);
+        R2dbcSerializer serializer = new R2dbcSerializer(configuration, true);
         serializer.setUseLiterals(useLiterals);
+        serializer.setUseArrayParameters(useArrayParameters);
+        serializer.setUseInListPadding(useInListPadding);
         return serializer;
     }
 
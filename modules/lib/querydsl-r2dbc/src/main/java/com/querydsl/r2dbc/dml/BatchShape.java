@@ -0,0 +1,168 @@
+package com.querydsl.r2dbc.dml;
+
+import com.google.common.collect.ImmutableSet;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link BatchShape} is the structure of a batch item without the values of its constants.
+ * Batch items with the same shape have the same SQL, so the SQL is serialized only for the first
+ * item of a shape and the constants of the other items are collected by the shape.
+ *
+ * <p>Only the shapes of simple clauses are supported: constant values and where clauses
+ * which are conjunctions of comparisons between a path and a constant.</p>
+ */
+final class BatchShape {
+
+    private static final Set<Operator> COMPARISONS = ImmutableSet.<Operator>of(
+            Ops.EQ, Ops.NE, Ops.LT, Ops.GT, Ops.LOE, Ops.GOE);
+
+    private static final Set<Operator> NULL_CHECKS = ImmutableSet.<Operator>of(
+            Ops.IS_NULL, Ops.IS_NOT_NULL);
+
+    private final List<Object> key = new ArrayList<>();
+
+    private final List<Object> constants = new ArrayList<>();
+
+    private final List<Path<?>> constantPaths = new ArrayList<>();
+
+    private boolean keyLookup = true;
+
+    private boolean constantUpdate = true;
+
+    private int lookupIndex;
+
+    private BatchShape() {
+    }
+
+    /**
+     * Get the shape of the given batch item
+     *
+     * @param metadata metadata of the item
+     * @param updates updated columns of the item, empty for deletes
+     * @return shape of the item, or null if the shape of the item is not supported
+     */
+    @Nullable
+    static BatchShape of(QueryMetadata metadata, Map<Path<?>, Expression<?>> updates) {
+        BatchShape shape = new BatchShape();
+        shape.key.add(metadata.getFlags());
+        shape.key.add(metadata.getModifiers());
+        shape.keyLookup = metadata.getWhere() != null && !metadata.getModifiers().isRestricting();
+        for (Map.Entry<Path<?>, Expression<?>> update : updates.entrySet()) {
+            shape.key.add(update.getKey());
+            Expression<?> value = update.getValue();
+            if (value instanceof Constant) {
+                Object constant = ((Constant<?>) value).getConstant();
+                if (constant instanceof Collection) {
+                    return null;
+                }
+                shape.addConstant(constant, update.getKey());
+            } else {
+                shape.key.add(value);
+                shape.constantUpdate = false;
+            }
+        }
+        shape.lookupIndex = shape.constants.size();
+        if (metadata.getWhere() != null && !shape.addPredicate(metadata.getWhere())) {
+            return null;
+        }
+        return shape;
+    }
+
+    private boolean addPredicate(Expression<?> predicate) {
+        if (!(predicate instanceof Operation)) {
+            return false;
+        }
+        Operation<?> operation = (Operation<?>) predicate;
+        Operator operator = operation.getOperator();
+        List<Expression<?>> args = operation.getArgs();
+        if (operator == Ops.AND) {
+            key.add(operator);
+            return addPredicate(args.get(0)) && addPredicate(args.get(1));
+        } else if (NULL_CHECKS.contains(operator) && args.get(0) instanceof Path) {
+            key.add(operator);
+            key.add(args.get(0));
+            keyLookup = false;
+            return true;
+        } else if (COMPARISONS.contains(operator) && args.get(0) instanceof Path && args.get(1) instanceof Constant) {
+            Object constant = ((Constant<?>) args.get(1)).getConstant();
+            if (constant instanceof Collection) {
+                return false;
+            }
+            key.add(operator);
+            key.add(args.get(0));
+            keyLookup &= operator == Ops.EQ && !getLookupColumns().contains(args.get(0));
+            addConstant(constant, (Path<?>) args.get(0));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private void addConstant(Object constant, Path<?> path) {
+        // the class of a constant may affect the SQL, e.g. wrapped select parameters
+        key.add(constant.getClass());
+        constants.add(constant);
+        constantPaths.add(path);
+    }
+
+    /**
+     * Get whether the item only selects the rows with the given values of distinct columns,
+     * see {@link #getLookupColumns()} and {@link #getLookupValues()}
+     *
+     * @return true if the where clause is a conjunction of equalities of distinct columns
+     */
+    boolean isKeyLookup() {
+        return keyLookup;
+    }
+
+    /**
+     * @return true if all the updated columns are set to constants
+     */
+    boolean isConstantUpdate() {
+        return constantUpdate;
+    }
+
+    /**
+     * @return columns of the constants of the where clause
+     */
+    List<Path<?>> getLookupColumns() {
+        return constantPaths.subList(lookupIndex, constantPaths.size());
+    }
+
+    /**
+     * @return constants of the where clause
+     */
+    List<Object> getLookupValues() {
+        return constants.subList(lookupIndex, constants.size());
+    }
+
+    /**
+     * @return key of the shape, equal for the items with the same shape
+     */
+    List<Object> getKey() {
+        return key;
+    }
+
+    /**
+     * @return constants of the item, in the expected order of the bind markers
+     */
+    List<Object> getConstants() {
+        return constants;
+    }
+
+    /**
+     * @return paths of the constants
+     */
+    List<Path<?>> getConstantPaths() {
+        return constantPaths;
+    }
+
+}
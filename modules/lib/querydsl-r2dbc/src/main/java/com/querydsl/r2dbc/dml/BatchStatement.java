@@ -0,0 +1,86 @@
+package com.querydsl.r2dbc.dml;
+
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.SQLSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BatchStatement} is the SQL of a statement with the bindings of the batch rows executed by it
+ *
+ * @see AbstractR2dbcClause#prepareStatement(io.r2dbc.spi.Connection, BatchStatement)
+ */
+final class BatchStatement {
+
+    private final String sql;
+
+    private final int rowsPerBinding;
+
+    private final List<List<?>> constants = new ArrayList<>();
+
+    private final List<List<Path<?>>> constantPaths = new ArrayList<>();
+
+    private final List<Map<ParamExpression<?>, ?>> params = new ArrayList<>();
+
+    BatchStatement(String sql) {
+        this(sql, 1);
+    }
+
+    BatchStatement(String sql, int rowsPerBinding) {
+        this.sql = sql;
+        this.rowsPerBinding = rowsPerBinding;
+    }
+
+    BatchStatement(SQLSerializer serializer, Map<ParamExpression<?>, ?> params) {
+        this(serializer, params, 1);
+    }
+
+    BatchStatement(SQLSerializer serializer, Map<ParamExpression<?>, ?> params, int rowsPerBinding) {
+        this(serializer.toString(), rowsPerBinding);
+        addBinding(serializer.getConstants(), serializer.getConstantPaths(), params);
+    }
+
+    /**
+     * Add the binding of a batch row
+     *
+     * @param constants constants of the row in the order of the bind markers
+     * @param constantPaths paths of the constants
+     * @param params values of the parameters of the row
+     */
+    void addBinding(List<?> constants, List<Path<?>> constantPaths, Map<ParamExpression<?>, ?> params) {
+        this.constants.add(constants);
+        this.constantPaths.add(constantPaths);
+        this.params.add(params);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    int getBindingCount() {
+        return constants.size();
+    }
+
+    /**
+     * @return number of the batch rows of a binding, more than one for bulk statements
+     */
+    int getRowsPerBinding() {
+        return rowsPerBinding;
+    }
+
+    List<?> getConstants(int binding) {
+        return constants.get(binding);
+    }
+
+    List<Path<?>> getConstantPaths(int binding) {
+        return constantPaths.get(binding);
+    }
+
+    Map<ParamExpression<?>, ?> getParams(int binding) {
+        return params.get(binding);
+    }
+
+}
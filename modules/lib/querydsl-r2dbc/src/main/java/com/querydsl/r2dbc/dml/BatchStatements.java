@@ -0,0 +1,83 @@
+package com.querydsl.r2dbc.dml;
+
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.sql.SQLSerializer;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * {@link BatchStatements} groups batch items into statements. Consecutive items with the same SQL are bound
+ * to the same statement, so the items are executed in the order of addition. The SQL of a shape is
+ * serialized only once, see {@link BatchShape}.
+ *
+ * @see BatchShape
+ */
+final class BatchStatements {
+
+    private final List<BatchStatement> statements = new ArrayList<>();
+
+    private final Map<List<Object>, String> sqlByShape = new HashMap<>();
+
+    private final Set<List<Object>> irregularShapes = new HashSet<>();
+
+    /**
+     * Add a batch item
+     *
+     * @param shape shape of the item or null if it has no supported shape
+     * @param serializer serializes the item, called only if the SQL of the shape isn't known yet
+     * @param params values of the parameters of the item
+     */
+    void add(@Nullable BatchShape shape, Supplier<SQLSerializer> serializer, Map<ParamExpression<?>, ?> params) {
+        boolean regular = shape != null && !irregularShapes.contains(shape.getKey());
+        if (regular) {
+            String sql = sqlByShape.get(shape.getKey());
+            if (sql != null) {
+                getStatement(sql).addBinding(shape.getConstants(), shape.getConstantPaths(), params);
+                return;
+            }
+        }
+        SQLSerializer serialized = serializer.get();
+        getStatement(serialized.toString())
+                .addBinding(serialized.getConstants(), serialized.getConstantPaths(), params);
+        if (regular) {
+            if (shape.getConstants().equals(serialized.getConstants())
+                    && shape.getConstantPaths().equals(serialized.getConstantPaths())) {
+                sqlByShape.put(shape.getKey(), serialized.toString());
+            } else {
+                // the dialect doesn't bind the constants in the order of the shape
+                irregularShapes.add(shape.getKey());
+            }
+        }
+    }
+
+    /**
+     * Get the last statement, if it has the given SQL, otherwise add a new statement
+     */
+    private BatchStatement getStatement(String sql) {
+        BatchStatement last = statements.isEmpty() ? null : statements.get(statements.size() - 1);
+        if (last == null || !last.getSql().equals(sql)) {
+            last = new BatchStatement(sql);
+            statements.add(last);
+        }
+        return last;
+    }
+
+    /**
+     * Add a statement which is executed as is
+     *
+     * @param statement statement
+     */
+    void add(BatchStatement statement) {
+        statements.add(statement);
+    }
+
+    /**
+     * @return statements in the order of their items
+     */
+    List<BatchStatement> getStatements() {
+        return statements;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.querydsl.r2dbc.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.sql.SQLTemplates;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link InLists} contains the rewrites of the IN and NOT IN predicates of collections, which are shared
+ * by the serializer and the {@link QueryShape}, so the shape of a query matches its serialization.
+ */
+public final class InLists {
+
+    private static final Set<Class<?>> ARRAY_TYPES = ImmutableSet.<Class<?>>of(
+            String.class, Long.class, Integer.class, Short.class);
+
+    private InLists() {
+    }
+
+    /**
+     * Create the array of the given collection, if the elements have an array codec
+     *
+     * @param type element type
+     * @param collection constant of the IN predicate
+     * @return array of the elements or null if the elements can't be bound as an array
+     */
+    @Nullable
+    public static Object createArray(Class<?> type, Object collection) {
+        if (!(collection instanceof Collection) || ((Collection<?>) collection).isEmpty()
+                || !ARRAY_TYPES.contains(type)) {
+            return null;
+        }
+        Object array = Array.newInstance(type, ((Collection<?>) collection).size());
+        int i = 0;
+        for (Object element : (Collection<?>) collection) {
+            if (!type.isInstance(element)) {
+                return null;
+            }
+            Array.set(array, i++, element);
+        }
+        return array;
+    }
+
+    /**
+     * Get the maximum size of the padded IN lists, the larger lists are split into chunks of this size
+     *
+     * @param templates templates of the serialization
+     * @return maximum size of a padded list
+     */
+    public static int getMaxSize(SQLTemplates templates) {
+        int listMaxSize = templates.getListMaxSize();
+        return listMaxSize > 0
+                ? Math.min(R2dbcSerializer.MAX_IN_LIST_SIZE, Integer.highestOneBit(listMaxSize))
+                : R2dbcSerializer.MAX_IN_LIST_SIZE;
+    }
+
+    /**
+     * Pad the given values to the next power of two by repeating the last value
+     *
+     * @param values non-empty list of values
+     * @return padded values
+     */
+    public static List<?> pad(List<?> values) {
+        int size = values.size() == 1 ? 1 : Integer.highestOneBit(values.size() - 1) << 1;
+        List<Object> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        while (padded.size() < size) {
+            padded.add(values.get(values.size() - 1));
+        }
+        return padded;
+    }
+
+    /**
+     * Pad the given values as they are bound, split into chunks of the given size and each chunk padded
+     *
+     * @param values non-empty list of values
+     * @param maxSize maximum size of a chunk
+     * @return concatenation of the padded chunks
+     */
+    public static List<?> pad(List<?> values, int maxSize) {
+        List<Object> padded = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i += maxSize) {
+            padded.addAll(pad(values.subList(i, Math.min(values.size(), i + maxSize))));
+        }
+        return padded;
+    }
+
+    /**
+     * Create the predicate which binds the given array as a single parameter
+     *
+     * @param operator {@link Ops#IN} or {@link Ops#NOT_IN}
+     * @param expr left hand side of the predicate
+     * @param array array of the elements, or its placeholder
+     * @return {@code = any(?)} or {@code <> all(?)} predicate
+     */
+    public static Predicate arrayPredicate(Operator operator, Expression<?> expr, Object array) {
+        String template = operator == Ops.IN ? "{0} = any({1})" : "{0} <> all({1})";
+        return Expressions.booleanTemplate(template, expr, ConstantImpl.create(array));
+    }
+
+}
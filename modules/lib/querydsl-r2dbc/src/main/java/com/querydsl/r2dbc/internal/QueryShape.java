@@ -0,0 +1,567 @@
+package com.querydsl.r2dbc.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.support.ReplaceVisitor;
+import com.querydsl.core.types.*;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLTemplates;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link QueryShape} is the structural fingerprint of a {@link QueryMetadata}.
+ *
+ * <p>The key of the shape ignores the values of the constants which are bound as parameters,
+ * so queries that differ only in these values share the same key and therefore the same SQL.
+ * The values are collected into slots in traversal order.</p>
+ *
+ * <p>Constants which are rendered by the templates in a value dependent way (string
+ * transformations, literals, casts) are part of the key.</p>
+ *
+ * <p>The collections of IN predicates which are bound as arrays are a single slot of any size,
+ * see {@link InLists#createArray(Class, Object)}. The key of the padded collections has the padded size,
+ * and their slots hold the padded values, see {@link InLists#pad(List, int)}.</p>
+ */
+public final class QueryShape {
+
+    /**
+     * Placeholder of a slot value in the probe metadata
+     */
+    public static final class Slot {
+
+        private final int index;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return "slot" + index;
+        }
+
+    }
+
+    private static final long MODIFIER_SENTINEL = Long.MAX_VALUE - 1024;
+
+    private final String key;
+
+    private final List<Object> values;
+
+    private final SQLTemplates templates;
+
+    private final boolean arrayParameters;
+
+    private final boolean inListPadding;
+
+    private QueryShape(String key, List<Object> values, SQLTemplates templates,
+                       boolean arrayParameters, boolean inListPadding) {
+        this.key = key;
+        this.values = values;
+        this.templates = templates;
+        this.arrayParameters = arrayParameters;
+        this.inListPadding = inListPadding;
+    }
+
+    /**
+     * Create the shape of the given metadata
+     *
+     * @param metadata query metadata
+     * @param templates templates used by the serialization
+     * @return shape of the query
+     */
+    public static QueryShape of(QueryMetadata metadata, SQLTemplates templates) {
+        return of(metadata, templates, false, false);
+    }
+
+    /**
+     * Create the shape of the given metadata
+     *
+     * @param metadata query metadata
+     * @param templates templates used by the serialization
+     * @param arrayParameters true, if the serialization binds the collections of IN predicates as arrays
+     * @param inListPadding true, if the serialization pads the collections of IN predicates
+     * @return shape of the query
+     */
+    public static QueryShape of(QueryMetadata metadata, SQLTemplates templates,
+                                boolean arrayParameters, boolean inListPadding) {
+        KeyBuilder builder = new KeyBuilder(templates, arrayParameters, inListPadding);
+        builder.visit(metadata);
+        return new QueryShape(builder.key.toString(), builder.values, templates, arrayParameters, inListPadding);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the values of the slots in traversal order
+     */
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Create a copy of the given metadata where every slot value is replaced by a {@link Slot}.
+     * LIMIT and OFFSET values are replaced by distinct sentinel numbers, see {@link #getSlot(Object)}.
+     *
+     * @param metadata the metadata this shape was created from
+     * @return probe metadata
+     */
+    public QueryMetadata createProbe(QueryMetadata metadata) {
+        return new ProbeBuilder(templates, arrayParameters, inListPadding).visit(metadata);
+    }
+
+    /**
+     * Get the slot referenced by the given constant of the probe serialization
+     *
+     * @param constant constant of the probe serialization
+     * @return slot or null if the constant is not a slot
+     */
+    @Nullable
+    public Slot getSlot(Object constant) {
+        if (constant instanceof Slot) {
+            return (Slot) constant;
+        } else if (constant instanceof Long) {
+            long index = MODIFIER_SENTINEL - (Long) constant;
+            if (index >= 0 && index < values.size() && values.get((int) index) instanceof Long) {
+                return new Slot((int) index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create the array of the collection of the given IN predicate, if it is bound as an array
+     */
+    @Nullable
+    private static Object createArray(boolean arrayParameters, Operation<?> expr) {
+        Operator operator = expr.getOperator();
+        if (arrayParameters && (operator == Ops.IN || operator == Ops.NOT_IN) && expr.getArg(1) instanceof Constant) {
+            return InLists.createArray(expr.getArg(0).getType(), ((Constant<?>) expr.getArg(1)).getConstant());
+        }
+        return null;
+    }
+
+    /**
+     * Pad the collection of the given IN predicate, if it is padded by the serialization
+     */
+    @Nullable
+    private static List<?> pad(boolean inListPadding, SQLTemplates templates, Operation<?> expr) {
+        Operator operator = expr.getOperator();
+        if (inListPadding && (operator == Ops.IN || operator == Ops.NOT_IN) && expr.getArg(1) instanceof Constant) {
+            Object constant = ((Constant<?>) expr.getArg(1)).getConstant();
+            if (constant instanceof Collection && !((Collection<?>) constant).isEmpty()) {
+                return InLists.pad(new ArrayList<>((Collection<?>) constant), InLists.getMaxSize(templates));
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBindable(SQLTemplates templates, Operator operator, int index) {
+        if (operator == Ops.LIKE || operator == Ops.NUMCAST || operator == Ops.ORDER) {
+            return false;
+        }
+        Template template = templates.getTemplate(operator);
+        return template != null && isBindable(template, index);
+    }
+
+    private static boolean isBindable(Template template, int index) {
+        boolean bound = false;
+        for (Template.Element element : template.getElements()) {
+            if (element instanceof Template.ByIndex) {
+                bound |= ((Template.ByIndex) element).getIndex() == index;
+            } else if (element instanceof Template.AsString) {
+                if (((Template.AsString) element).getIndex() == index) {
+                    return false;
+                }
+            } else if (element instanceof Template.Transformed) {
+                if (((Template.Transformed) element).getIndex() == index) {
+                    return false;
+                }
+            } else if (!(element instanceof Template.StaticText)) {
+                return false;
+            }
+        }
+        return bound;
+    }
+
+    private static final class KeyBuilder implements Visitor<Void, Void> {
+
+        private final SQLTemplates templates;
+
+        private final boolean arrayParameters;
+
+        private final boolean inListPadding;
+
+        private final StringBuilder key = new StringBuilder();
+
+        private final List<Object> values = new ArrayList<>();
+
+        private KeyBuilder(SQLTemplates templates, boolean arrayParameters, boolean inListPadding) {
+            this.templates = templates;
+            this.arrayParameters = arrayParameters;
+            this.inListPadding = inListPadding;
+        }
+
+        private void visit(QueryMetadata metadata) {
+            key.append('{');
+            if (metadata.isDistinct()) {
+                key.append("distinct ");
+            }
+            if (metadata.isUnique()) {
+                key.append("unique ");
+            }
+            QueryModifiers modifiers = metadata.getModifiers();
+            if (modifiers.getLimit() != null) {
+                key.append("limit ");
+                values.add(modifiers.getLimit());
+            }
+            if (modifiers.getOffset() != null) {
+                key.append("offset ");
+                values.add(modifiers.getOffset());
+            }
+            for (QueryFlag flag : metadata.getFlags()) {
+                key.append("flag ").append(flag.getPosition()).append(' ');
+                handle(flag.getFlag());
+            }
+            key.append("groupBy ");
+            for (Expression<?> expr : metadata.getGroupBy()) {
+                handle(expr);
+            }
+            key.append("having ");
+            handle(metadata.getHaving());
+            for (JoinExpression join : metadata.getJoins()) {
+                key.append("join ").append(join.getType()).append(' ');
+                handle(join.getTarget());
+                key.append(" on ");
+                handle(join.getCondition());
+                for (JoinFlag flag : join.getFlags()) {
+                    key.append(" joinFlag ").append(flag.getPosition()).append(' ');
+                    handle(flag.getFlag());
+                }
+            }
+            key.append("orderBy ");
+            handle(metadata.getOrderBy());
+            key.append("select ");
+            handle(metadata.getProjection());
+            key.append("where ");
+            handle(metadata.getWhere());
+            key.append('}');
+        }
+
+        private void handle(@Nullable Expression<?> expr) {
+            if (expr != null) {
+                expr.accept(this, null);
+            }
+            key.append(';');
+        }
+
+        private void handle(List<OrderSpecifier<?>> orderBy) {
+            for (OrderSpecifier<?> order : orderBy) {
+                key.append(order.getOrder()).append(' ').append(order.getNullHandling()).append(' ');
+                handle(order.getTarget());
+            }
+        }
+
+        private void handleValue(Object value) {
+            key.append('\'').append(value.getClass().getName()).append(':').append(value).append('\'');
+        }
+
+        @SuppressWarnings("unchecked")
+        private void handleArg(Object arg, boolean bindable) {
+            if (arg instanceof Constant && !bindable) {
+                Object constant = ((Constant<?>) arg).getConstant();
+                if (constant instanceof List && !((List<?>) constant).isEmpty()
+                        && ((List<?>) constant).get(0) instanceof OrderSpecifier) {
+                    handle((List<OrderSpecifier<?>>) constant);
+                } else {
+                    handleValue(constant);
+                }
+            } else if (arg instanceof Expression) {
+                ((Expression<?>) arg).accept(this, null);
+            } else {
+                handleValue(arg);
+            }
+            key.append(',');
+        }
+
+        @Override
+        public Void visit(Constant<?> expr, Void context) {
+            Object constant = expr.getConstant();
+            if (constant instanceof Collection) {
+                key.append("?[").append(((Collection<?>) constant).size()).append(']');
+                values.addAll((Collection<?>) constant);
+            } else {
+                key.append('?');
+                values.add(constant);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Void context) {
+            key.append("new(");
+            for (Expression<?> arg : expr.getArgs()) {
+                handleArg(arg, true);
+            }
+            key.append(')');
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Void context) {
+            Operator operator = expr.getOperator();
+            key.append(operator.getClass().getName()).append('.').append(operator.name()).append('(');
+            Object array = createArray(arrayParameters, expr);
+            if (array != null) {
+                handleArg(expr.getArg(0), isBindable(templates, operator, 0));
+                key.append("?[]");
+                values.add(array);
+                key.append(')');
+                return null;
+            }
+            List<?> padded = pad(inListPadding, templates, expr);
+            if (padded != null) {
+                handleArg(expr.getArg(0), isBindable(templates, operator, 0));
+                key.append("?[").append(padded.size()).append(']');
+                values.addAll(padded);
+                key.append(')');
+                return null;
+            }
+            List<Expression<?>> args = expr.getArgs();
+            for (int i = 0; i < args.size(); i++) {
+                handleArg(args.get(i), isBindable(templates, operator, i));
+            }
+            key.append(')');
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Void context) {
+            key.append("param:").append(expr.getName()).append(':').append(expr.getType().getName());
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Void context) {
+            PathMetadata metadata = expr.getMetadata();
+            if (metadata.isRoot()) {
+                key.append(expr.getClass().getName()).append('#').append(metadata.getName());
+                if (expr instanceof RelationalPath) {
+                    RelationalPath<?> path = (RelationalPath<?>) expr;
+                    key.append('@').append(path.getSchemaName()).append('.').append(path.getTableName());
+                }
+            } else {
+                metadata.getParent().accept(this, null);
+                key.append('.').append(metadata.getPathType()).append(':');
+                Object element = metadata.getElement();
+                if (element instanceof Expression) {
+                    ((Expression<?>) element).accept(this, null);
+                } else {
+                    key.append(element);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Void context) {
+            visit(expr.getMetadata());
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Void context) {
+            Template template = expr.getTemplate();
+            key.append("template:").append(template).append('(');
+            List<?> args = expr.getArgs();
+            for (int i = 0; i < args.size(); i++) {
+                handleArg(args.get(i), isBindable(template, i));
+            }
+            key.append(')');
+            return null;
+        }
+
+    }
+
+    private static final class ProbeBuilder extends ReplaceVisitor<Void> {
+
+        private final SQLTemplates templates;
+
+        private final boolean arrayParameters;
+
+        private final boolean inListPadding;
+
+        private int index;
+
+        private ProbeBuilder(SQLTemplates templates, boolean arrayParameters, boolean inListPadding) {
+            this.templates = templates;
+            this.arrayParameters = arrayParameters;
+            this.inListPadding = inListPadding;
+        }
+
+        @Nullable
+        private Long sentinel(@Nullable Long value) {
+            return value != null ? MODIFIER_SENTINEL - index++ : null;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private QueryMetadata visit(QueryMetadata metadata) {
+            DefaultQueryMetadata md = new DefaultQueryMetadata();
+            md.setValidate(false);
+            md.setDistinct(metadata.isDistinct());
+            md.setUnique(metadata.isUnique());
+            QueryModifiers modifiers = metadata.getModifiers();
+            Long limit = sentinel(modifiers.getLimit());
+            Long offset = sentinel(modifiers.getOffset());
+            md.setModifiers(new QueryModifiers(limit, offset));
+            for (QueryFlag flag : metadata.getFlags()) {
+                md.addFlag(new QueryFlag(flag.getPosition(), handle(flag.getFlag())));
+            }
+            for (Expression<?> expr : metadata.getGroupBy()) {
+                md.addGroupBy(handle(expr));
+            }
+            if (metadata.getHaving() != null) {
+                md.addHaving((Predicate) handle(metadata.getHaving()));
+            }
+            for (JoinExpression join : metadata.getJoins()) {
+                md.addJoin(join.getType(), handle(join.getTarget()));
+                if (join.getCondition() != null) {
+                    md.addJoinCondition((Predicate) handle(join.getCondition()));
+                }
+                for (JoinFlag flag : join.getFlags()) {
+                    md.addJoinFlag(new JoinFlag(handle(flag.getFlag()), flag.getPosition()));
+                }
+            }
+            for (OrderSpecifier<?> order : handle(metadata.getOrderBy())) {
+                md.addOrderBy(order);
+            }
+            if (metadata.getProjection() != null) {
+                md.setProjection(handle(metadata.getProjection()));
+            }
+            if (metadata.getWhere() != null) {
+                md.addWhere((Predicate) handle(metadata.getWhere()));
+            }
+            for (Map.Entry<ParamExpression<?>, Object> entry : metadata.getParams().entrySet()) {
+                md.setParam((ParamExpression) entry.getKey(), entry.getValue());
+            }
+            return md;
+        }
+
+        private Expression<?> handle(Expression<?> expr) {
+            return expr.accept(this, null);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private List<OrderSpecifier<?>> handle(List<OrderSpecifier<?>> orderBy) {
+            List<OrderSpecifier<?>> result = new ArrayList<>(orderBy.size());
+            for (OrderSpecifier<?> order : orderBy) {
+                result.add(new OrderSpecifier(order.getOrder(), handle(order.getTarget()), order.getNullHandling()));
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object handleArg(Object arg, boolean bindable) {
+            if (arg instanceof Constant && !bindable) {
+                Object constant = ((Constant<?>) arg).getConstant();
+                if (constant instanceof List && !((List<?>) constant).isEmpty()
+                        && ((List<?>) constant).get(0) instanceof OrderSpecifier) {
+                    return ConstantImpl.create(handle((List<OrderSpecifier<?>>) constant));
+                }
+                return arg;
+            } else if (arg instanceof Expression) {
+                return handle((Expression<?>) arg);
+            } else {
+                return arg;
+            }
+        }
+
+        @Override
+        public Expression<?> visit(Constant<?> expr, Void context) {
+            Object constant = expr.getConstant();
+            if (constant instanceof Collection) {
+                List<Slot> slots = new ArrayList<>(((Collection<?>) constant).size());
+                for (int i = 0; i < ((Collection<?>) constant).size(); i++) {
+                    slots.add(new Slot(index++));
+                }
+                return ConstantImpl.create(slots);
+            } else {
+                return ConstantImpl.create(new Slot(index++));
+            }
+        }
+
+        @Override
+        public Expression<?> visit(FactoryExpression<?> expr, Void context) {
+            ImmutableList.Builder<Expression<?>> args = ImmutableList.builder();
+            for (Expression<?> arg : expr.getArgs()) {
+                args.add((Expression<?>) handleArg(arg, true));
+            }
+            return FactoryExpressionUtils.wrap(expr, args.build());
+        }
+
+        @Override
+        public Expression<?> visit(Operation<?> expr, Void context) {
+            if (createArray(arrayParameters, expr) != null) {
+                // the serializer rewrites the predicate only for the actual elements
+                Expression<?> arg = (Expression<?>) handleArg(expr.getArg(0),
+                        isBindable(templates, expr.getOperator(), 0));
+                return InLists.arrayPredicate(expr.getOperator(), arg, new Slot(index++));
+            }
+            List<?> padded = pad(inListPadding, templates, expr);
+            if (padded != null) {
+                // the size of the slots is already padded, so the serializer does not pad them again
+                Expression<?> arg = (Expression<?>) handleArg(expr.getArg(0),
+                        isBindable(templates, expr.getOperator(), 0));
+                List<Slot> slots = new ArrayList<>(padded.size());
+                for (int i = 0; i < padded.size(); i++) {
+                    slots.add(new Slot(index++));
+                }
+                return ExpressionUtils.predicate(expr.getOperator(), arg, ConstantImpl.create(slots));
+            }
+            ImmutableList.Builder<Expression<?>> args = ImmutableList.builder();
+            for (int i = 0; i < expr.getArgs().size(); i++) {
+                args.add((Expression<?>) handleArg(expr.getArg(i), isBindable(templates, expr.getOperator(), i)));
+            }
+            if (expr instanceof Predicate) {
+                return ExpressionUtils.predicate(expr.getOperator(), args.build());
+            }
+            return ExpressionUtils.operation(expr.getType(), expr.getOperator(), args.build());
+        }
+
+        @Override
+        public Expression<?> visit(SubQueryExpression<?> expr, Void context) {
+            return new SubQueryExpressionImpl<>(expr.getType(), visit(expr.getMetadata()));
+        }
+
+        @Override
+        public Expression<?> visit(TemplateExpression<?> expr, Void context) {
+            List<Object> args = new ArrayList<>(expr.getArgs().size());
+            for (int i = 0; i < expr.getArgs().size(); i++) {
+                args.add(handleArg(expr.getArgs().get(i), isBindable(expr.getTemplate(), i)));
+            }
+            if (expr instanceof Predicate) {
+                return ExpressionUtils.predicateTemplate(expr.getTemplate(), args);
+            }
+            return ExpressionUtils.template(expr.getType(), expr.getTemplate(), args);
+        }
+
+    }
+
+}
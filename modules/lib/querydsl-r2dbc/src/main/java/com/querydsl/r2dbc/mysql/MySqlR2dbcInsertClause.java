@@ -0,0 +1,79 @@
+package com.querydsl.r2dbc.mysql;
+
+import com.google.common.collect.ImmutableSet;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.dml.R2dbcInsertClause;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link MySqlR2dbcInsertClause} is an INSERT INTO clause of MySQL
+ *
+ * <p>MySQL returns only the first generated key of a statement, so the projection of
+ * {@link #executeWithKeys(Expression)} must be the auto increment column, and the keys of the other rows
+ * of a bulk statement are derived from it and the number of rows. This requires consecutive keys,
+ * i.e. {@code auto_increment_increment = 1} and a {@code innodb_autoinc_lock_mode} which allocates
+ * consecutive keys to the rows of a statement. The keys of the clauses with flags which skip or update rows,
+ * e.g. {@code insert ignore} and {@code on duplicate key update}, can't be derived.</p>
+ */
+public class MySqlR2dbcInsertClause extends R2dbcInsertClause {
+
+    private static final Set<Class<?>> KEY_TYPES = ImmutableSet.<Class<?>>of(
+            Long.class, Integer.class, BigInteger.class);
+
+    public MySqlR2dbcInsertClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
+        super(connection, configuration, entity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> KeyMapper<T> createKeyMapper(Expression<T> projection) {
+        if (!(projection instanceof Path) || !KEY_TYPES.contains(projection.getType())) {
+            throw new UnsupportedOperationException("MySQL returns only the generated key, got " + projection);
+        }
+        for (QueryFlag flag : getMetadata().getFlags()) {
+            if (isRowFlag(flag)) {
+                throw new UnsupportedOperationException(
+                        "MySQL doesn't return the keys of the skipped or updated rows, got flag " + flag);
+            }
+        }
+        Class<T> type = (Class<T>) projection.getType();
+        return (result, rows) -> Mono.from(result.map((row, metadata) ->
+                Objects.requireNonNull(row.get(0, type), "Null key result")))
+                .flatMapMany(first -> Flux.range(0, rows)
+                        .map(i -> nextKey(first, i)));
+    }
+
+    /**
+     * Get whether the given flag may skip or update rows instead of inserting them,
+     * e.g. {@code insert ignore} or {@code on duplicate key update}
+     *
+     * @param flag flag of the clause
+     * @return true, if the flag rewrites the statement
+     */
+    protected boolean isRowFlag(QueryFlag flag) {
+        return flag.getPosition() == Position.START_OVERRIDE || flag.getPosition() == Position.END;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T nextKey(T first, int offset) {
+        if (first instanceof Long) {
+            return (T) Long.valueOf((Long) first + offset);
+        } else if (first instanceof Integer) {
+            return (T) Integer.valueOf((Integer) first + offset);
+        } else {
+            return (T) ((BigInteger) first).add(BigInteger.valueOf(offset));
+        }
+    }
+
+}
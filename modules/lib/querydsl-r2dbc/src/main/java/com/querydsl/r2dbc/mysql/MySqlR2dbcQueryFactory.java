@@ -7,7 +7,9 @@ import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.r2dbc.AbstractR2dbcQueryFactory;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.dml.R2dbcDeleteClause;
 import com.querydsl.r2dbc.dml.R2dbcInsertClause;
+import com.querydsl.r2dbc.dml.R2dbcUpdateClause;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.MySQLTemplates;
 import com.querydsl.sql.RelationalPath;
@@ -18,6 +20,8 @@ import com.querydsl.sql.SQLTemplates;
  */
 public class MySqlR2dbcQueryFactory extends AbstractR2dbcQueryFactory<MySqlR2dbcQuery<?>> {
 
+    private boolean useInListPadding;
+
     public MySqlR2dbcQueryFactory(R2dbcConnectionProvider connection) {
         this(connection, new Configuration(new MySQLTemplates()));
     }
@@ -30,6 +34,43 @@ public class MySqlR2dbcQueryFactory extends AbstractR2dbcQueryFactory<MySqlR2dbc
         super(connection, configuration);
     }
 
+    /**
+     * Set whether the queries and clauses of this factory pad the IN and NOT IN lists of collections
+     * to the next power of two, so that lists of different sizes share a few prepared statements (default: false)
+     *
+     * @param useInListPadding true for padded lists
+     * @see com.querydsl.r2dbc.AbstractR2dbcQuery#setUseInListPadding(boolean)
+     */
+    public void setUseInListPadding(boolean useInListPadding) {
+        this.useInListPadding = useInListPadding;
+    }
+
+    public MySqlR2dbcQueryFactory withInListPadding() {
+        setUseInListPadding(true);
+        return this;
+    }
+
+    @Override
+    public MySqlR2dbcInsertClause insert(RelationalPath<?> path) {
+        MySqlR2dbcInsertClause insert = new MySqlR2dbcInsertClause(connection, configuration, path);
+        insert.setUseInListPadding(useInListPadding);
+        return insert;
+    }
+
+    @Override
+    public R2dbcUpdateClause update(RelationalPath<?> path) {
+        R2dbcUpdateClause update = new R2dbcUpdateClause(connection, configuration, path);
+        update.setUseInListPadding(useInListPadding);
+        return update;
+    }
+
+    @Override
+    public R2dbcDeleteClause delete(RelationalPath<?> path) {
+        R2dbcDeleteClause delete = new R2dbcDeleteClause(connection, configuration, path);
+        delete.setUseInListPadding(useInListPadding);
+        return delete;
+    }
+
     /**
      * Create a INSERT IGNORE INTO clause
      *
@@ -88,11 +129,15 @@ public class MySqlR2dbcQueryFactory extends AbstractR2dbcQueryFactory<MySqlR2dbc
 
     @Override
     public MySqlR2dbcQuery<?> query() {
-        return new MySqlR2dbcQuery<Void>(connection, configuration);
+        MySqlR2dbcQuery<Void> query = new MySqlR2dbcQuery<Void>(connection, configuration);
+        query.setUseInListPadding(useInListPadding);
+        return query;
     }
 
     public MySqlR2dbcReplaceClause replace(RelationalPath<?> entity) {
-        return new MySqlR2dbcReplaceClause(connection, configuration, entity);
+        MySqlR2dbcReplaceClause replace = new MySqlR2dbcReplaceClause(connection, configuration, entity);
+        replace.setUseInListPadding(useInListPadding);
+        return replace;
     }
 
     @Override
@@ -2,7 +2,6 @@ package com.querydsl.r2dbc.mysql;
 
 import com.querydsl.core.QueryFlag;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
-import com.querydsl.r2dbc.dml.R2dbcInsertClause;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
 
@@ -13,13 +12,21 @@ import com.querydsl.sql.RelationalPath;
  * as a new row for a PRIMARY KEY or a UNIQUE index, the old row is deleted before the new row is inserted.</p>
  *
  */
-public class MySqlR2dbcReplaceClause extends R2dbcInsertClause {
+public class MySqlR2dbcReplaceClause extends MySqlR2dbcInsertClause {
 
     protected static final String REPLACE_INTO = "replace into ";
 
+    private static final QueryFlag REPLACE_INTO_FLAG = new QueryFlag(QueryFlag.Position.START_OVERRIDE, REPLACE_INTO);
+
     public MySqlR2dbcReplaceClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
         super(connection, configuration, entity);
         addFlag(QueryFlag.Position.START_OVERRIDE, REPLACE_INTO);
     }
 
+    @Override
+    protected boolean isRowFlag(QueryFlag flag) {
+        // the replaced rows are deleted and inserted with new keys
+        return !flag.equals(REPLACE_INTO_FLAG) && super.isRowFlag(flag);
+    }
+
 }
@@ -9,8 +9,20 @@ import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.r2dbc.AbstractR2dbcQuery;
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
 import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.R2dbcSqlCache;
+import com.querydsl.r2dbc.RowMapper;
+import com.querydsl.r2dbc.RowMappers;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnegative;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@link PostgreSqlR2dbcQuery} provides PostgreSQL related extensions to {@link R2dbcQuery}
@@ -22,6 +34,8 @@ import com.querydsl.sql.RelationalPath;
  */
 public abstract class AbstractPostgreSqlR2dbcQuery<T, C extends AbstractPostgreSqlR2dbcQuery<T, C>> extends AbstractR2dbcQuery<T, C> {
 
+    private static final AtomicLong cursorCounter = new AtomicLong();
+
     public AbstractPostgreSqlR2dbcQuery(R2dbcConnectionProvider connProvider, Configuration configuration, QueryMetadata metadata) {
         super(connProvider, configuration, metadata);
     }
@@ -76,4 +90,53 @@ public abstract class AbstractPostgreSqlR2dbcQuery<T, C extends AbstractPostgreS
                         ExpressionUtils.list(Object.class, exprs)));
     }
 
+    /**
+     * Get the projection through a server-side cursor. The rows are fetched in batches of
+     * {@code batchRows} rows as requested by the subscriber, so at most about two batches are
+     * buffered. The cursor is closed when the result is consumed, fails or is cancelled.
+     *
+     * <p>The cursor is declared in the current transaction, so the connection must be in a transaction,
+     * e.g. in {@link com.querydsl.r2dbc.TransactionalR2dbcConnectionProvider#transactional(java.util.function.Supplier)}.
+     * The result fails with {@link IllegalStateException} if there is no transaction.</p>
+     *
+     * @param batchRows number of rows fetched by a round trip
+     * @return result
+     */
+    public Flux<T> fetchStreaming(@Nonnegative int batchRows) {
+        if (batchRows <= 0) {
+            throw new IllegalArgumentException("Invalid batch size " + batchRows);
+        }
+        return requireConnection().flatMapMany(conn -> {
+            if (conn.isAutoCommit()) {
+                return Flux.error(new IllegalStateException("No transaction, fetchStreaming requires a transaction for its cursor"));
+            }
+            String cursor = "querydsl_cursor_" + cursorCounter.incrementAndGet();
+            RowMapper<T> mapper = RowMappers.forProjection(getProjection());
+            R2dbcSqlCache.SerializedQuery query = serializeCached(false);
+            Statement declare = createStatement(conn, new R2dbcSqlCache.SerializedQuery(
+                    "declare " + cursor + " no scroll cursor for " + query.getSQL(), query.getConstants()));
+            return Flux.usingWhen(
+                    Flux.from(declare.execute()).flatMap(Result::getRowsUpdated).then(Mono.just(cursor)),
+                    name -> fetchBatch(conn, name, batchRows, mapper)
+                            .repeat()
+                            .takeUntil(batch -> batch.size() < batchRows)
+                            .concatMapIterable(batch -> batch, 1),
+                    name -> closeCursor(conn, name),
+                    (name, error) -> closeCursor(conn, name).onErrorResume(closeError -> Mono.empty()),
+                    name -> closeCursor(conn, name));
+        });
+    }
+
+    private Mono<List<T>> fetchBatch(Connection conn, String cursor, int batchRows, RowMapper<T> mapper) {
+        return Mono.defer(() -> Flux.from(conn.createStatement("fetch forward " + batchRows + " from " + cursor).execute())
+                .flatMap(result -> result.map(mapper.forResult()::map))
+                .collectList());
+    }
+
+    private Mono<Void> closeCursor(Connection conn, String cursor) {
+        return Flux.from(conn.createStatement("close " + cursor).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
 }
@@ -0,0 +1,225 @@
+package com.querydsl.r2dbc.postgresql;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.r2dbc.BindMarkers;
+import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.dml.R2dbcInsertClause;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SchemaAndTable;
+import com.querydsl.sql.dml.SQLInsertBatch;
+import com.querydsl.sql.types.Null;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnegative;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link PostgreSqlR2dbcInsertClause} is an INSERT clause with a bulk load path for large number of rows
+ */
+public class PostgreSqlR2dbcInsertClause extends R2dbcInsertClause {
+
+    /**
+     * Default number of rows of a single statement of {@link #bulkLoad(Flux)}
+     */
+    public static final int DEFAULT_CHUNK_ROWS = 10000;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public PostgreSqlR2dbcInsertClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
+        super(connection, configuration, entity);
+    }
+
+    @Override
+    public PostgreSqlR2dbcInsertClause columns(Path<?>... columns) {
+        super.columns(columns);
+        return this;
+    }
+
+    /**
+     * Load the values of the batches added by {@link #addBatch()}, see {@link #bulkLoad(Flux, int)}.
+     * The values of the batches must be constants.
+     *
+     * @return number of inserted rows
+     */
+    public Mono<Long> bulkLoad() {
+        List<SQLInsertBatch> batches = getBatches();
+        if (batches.isEmpty()) {
+            return Mono.just(0L);
+        }
+        List<Path<?>> columns = batches.get(0).getColumns();
+        List<Object[]> rows = new ArrayList<>(batches.size());
+        for (SQLInsertBatch batch : batches) {
+            if (!batch.getColumns().equals(columns)) {
+                throw new IllegalArgumentException("Batches must have the same columns");
+            }
+            Object[] row = new Object[batch.getValues().size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = getConstant(batch.getValues().get(i));
+            }
+            rows.add(row);
+        }
+        return bulkLoad(columns, Flux.fromIterable(rows), DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * Load the given rows, see {@link #bulkLoad(Flux, int)}
+     *
+     * @param rows values of the rows in the order of the columns
+     * @return number of inserted rows
+     */
+    public Mono<Long> bulkLoad(Flux<Object[]> rows) {
+        return bulkLoad(rows, DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * Load the given rows into the columns set by {@link #columns(Path[])}, or into all columns of the
+     * table if no columns are set. The rows are requested as the statements complete, and each
+     * chunk of {@code chunkRows} rows is inserted by a single statement with a single parameter.
+     *
+     * <p>The values are sent in their text representation and converted by the server with the
+     * types of the columns, like in the text format of {@code COPY}. Custom types of the
+     * {@link Configuration} are not applied.</p>
+     *
+     * @param rows values of the rows in the order of the columns
+     * @param chunkRows number of rows of a single statement
+     * @return number of inserted rows
+     */
+    public Mono<Long> bulkLoad(Flux<Object[]> rows, @Nonnegative int chunkRows) {
+        List<Path<?>> columns = getColumns().isEmpty() ? new ArrayList<>(getEntity().getColumns()) : getColumns();
+        return bulkLoad(columns, rows, chunkRows);
+    }
+
+    private Mono<Long> bulkLoad(List<Path<?>> columns, Flux<Object[]> rows, int chunkRows) {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size " + chunkRows);
+        }
+        List<String> names = getColumnNames(columns);
+        String sql = createBulkLoadSql(names);
+        return withConnection(connection -> rows
+                        .buffer(chunkRows)
+                        .concatMap(chunk -> Flux.from(connection.createStatement(sql)
+                                .bind(0, toJson(names, chunk))
+                                .execute())
+                                .flatMap(Result::getRowsUpdated), 1))
+                .reduce(0L, Long::sum);
+    }
+
+    private List<String> getColumnNames(List<Path<?>> columns) {
+        SchemaAndTable schemaAndTable = getEntity().getSchemaAndTable();
+        List<String> names = new ArrayList<>(columns.size());
+        for (Path<?> column : columns) {
+            names.add(configuration.getColumnOverride(schemaAndTable, ColumnMetadata.getName(column)));
+        }
+        return names;
+    }
+
+    private String createBulkLoadSql(List<String> names) {
+        SQLTemplates templates = configuration.getTemplates();
+        SchemaAndTable schemaAndTable = configuration.getOverride(getEntity().getSchemaAndTable());
+        StringBuilder table = new StringBuilder();
+        if (templates.isPrintSchema() && schemaAndTable.getSchema() != null) {
+            table.append(templates.quoteIdentifier(schemaAndTable.getSchema())).append('.');
+        }
+        table.append(templates.quoteIdentifier(schemaAndTable.getTable()));
+        StringBuilder columns = new StringBuilder();
+        for (String name : names) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(templates.quoteIdentifier(name));
+        }
+        return "insert into " + table + " (" + columns + ")\n"
+                + "select " + columns + "\n"
+                + "from json_populate_recordset(null::" + table + ", "
+                + BindMarkers.of(templates).getMarker(0) + "::json)";
+    }
+
+    private static Object getConstant(Expression<?> value) {
+        if (value instanceof Constant) {
+            return ((Constant<?>) value).getConstant();
+        } else {
+            throw new IllegalArgumentException("Only constant values can be loaded, got " + value);
+        }
+    }
+
+    private static String toJson(List<String> names, List<Object[]> rows) {
+        StringBuilder json = new StringBuilder(rows.size() * names.size() * 16);
+        json.append('[');
+        for (Object[] row : rows) {
+            if (row.length != names.size()) {
+                throw new IllegalArgumentException("Expected " + names.size() + " values, but got " + row.length);
+            }
+            json.append(json.length() > 1 ? ",{" : "{");
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                appendString(json, names.get(i));
+                json.append(':');
+                appendValue(json, row[i]);
+            }
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value == null || value instanceof Null) {
+            json.append("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            json.append(value);
+        } else if (value instanceof Enum) {
+            appendString(json, ((Enum<?>) value).name());
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            json.append("\"\\\\x");
+            for (byte b : bytes) {
+                json.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+            json.append('"');
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+}
@@ -12,6 +12,8 @@ import com.querydsl.sql.*;
  */
 public class PostgreSqlR2dbcQueryFactory extends AbstractR2dbcQueryFactory<PostgreSqlR2dbcQuery<?>> {
 
+    private boolean useArrayParameters;
+
     public PostgreSqlR2dbcQueryFactory(R2dbcConnectionProvider connProvider) {
         this(connProvider, new Configuration(new PostgreSQLTemplates()));
     }
@@ -24,9 +26,61 @@ public class PostgreSqlR2dbcQueryFactory extends AbstractR2dbcQueryFactory<Postg
         super(connProvider, configuration);
     }
 
+    /**
+     * Set whether the queries and clauses of this factory bind the IN and NOT IN predicates of collections
+     * as a single array parameter, {@code = any($1)} and {@code <> all($1)}, instead of a parameter for
+     * each element (default: false)
+     *
+     * @param useArrayParameters true for array parameters
+     * @see com.querydsl.r2dbc.AbstractR2dbcQuery#setUseArrayParameters(boolean)
+     */
+    public void setUseArrayParameters(boolean useArrayParameters) {
+        this.useArrayParameters = useArrayParameters;
+    }
+
+    public PostgreSqlR2dbcQueryFactory withArrayParameters() {
+        setUseArrayParameters(true);
+        return this;
+    }
+
+    @Override
+    public PostgreSqlR2dbcInsertClause insert(RelationalPath<?> path) {
+        PostgreSqlR2dbcInsertClause insert = new PostgreSqlR2dbcInsertClause(connection, configuration, path);
+        insert.setUseArrayParameters(useArrayParameters);
+        return insert;
+    }
+
+    @Override
+    public PostgreSqlR2dbcUpdateClause update(RelationalPath<?> path) {
+        PostgreSqlR2dbcUpdateClause update = new PostgreSqlR2dbcUpdateClause(connection, configuration, path);
+        update.setUseArrayParameters(useArrayParameters);
+        return update;
+    }
+
+    @Override
+    public PostgreSqlR2dbcDeleteClause delete(RelationalPath<?> path) {
+        PostgreSqlR2dbcDeleteClause delete = new PostgreSqlR2dbcDeleteClause(connection, configuration, path);
+        delete.setUseArrayParameters(useArrayParameters);
+        return delete;
+    }
+
+    /**
+     * Create a INSERT ... ON CONFLICT clause
+     *
+     * @param entity table to insert to
+     * @return upsert clause
+     */
+    public PostgreSqlR2dbcUpsertClause upsert(RelationalPath<?> entity) {
+        PostgreSqlR2dbcUpsertClause upsert = new PostgreSqlR2dbcUpsertClause(connection, configuration, entity);
+        upsert.setUseArrayParameters(useArrayParameters);
+        return upsert;
+    }
+
     @Override
     public PostgreSqlR2dbcQuery<?> query() {
-        return new PostgreSqlR2dbcQuery<Void>(connection, configuration);
+        PostgreSqlR2dbcQuery<Void> query = new PostgreSqlR2dbcQuery<Void>(connection, configuration);
+        query.setUseArrayParameters(useArrayParameters);
+        return query;
     }
 
     @Override
@@ -0,0 +1,40 @@
+package com.querydsl.r2dbc.postgresql;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.dml.AbstractR2dbcUpdateClause;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link PostgreSqlR2dbcUpdateClause} is an UPDATE clause which can return the updated rows
+ *
+ * <pre>
+ * Flux&lt;SLocale&gt; locales = queryFactory.update(locale)
+ *         .set(locale.description, "English")
+ *         .where(locale.languageCode.eq("en"))
+ *         .executeReturning(locale);
+ * </pre>
+ */
+public class PostgreSqlR2dbcUpdateClause extends AbstractR2dbcUpdateClause<PostgreSqlR2dbcUpdateClause> {
+
+    public PostgreSqlR2dbcUpdateClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
+        super(connection, configuration, entity);
+    }
+
+    /**
+     * Execute the clause and get the given projection of the updated rows by a RETURNING clause,
+     * without a separate query. The projection is mapped like the projection of a query,
+     * the entity path of the table is mapped into its bean type.
+     *
+     * @param projection projection of the updated rows
+     * @param <T> result type
+     * @return projection of the updated rows, in the order of the statements of the batches
+     */
+    @Override
+    public <T> Flux<T> executeReturning(Expression<T> projection) {
+        return super.executeReturning(projection);
+    }
+
+}
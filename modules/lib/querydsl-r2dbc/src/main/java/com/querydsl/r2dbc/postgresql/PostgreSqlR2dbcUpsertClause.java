@@ -0,0 +1,283 @@
+package com.querydsl.r2dbc.postgresql;
+
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryFlag.Position;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.dml.R2dbcInsertClause;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.RelationalPath;
+import com.querydsl.sql.dml.SQLInsertBatch;
+import com.querydsl.sql.types.Null;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link PostgreSqlR2dbcUpsertClause} is an INSERT ... ON CONFLICT clause
+ *
+ * <pre>
+ * PostgreSqlR2dbcUpsertClause upsert = queryFactory.upsert(locale);
+ * upsert.onConflict(locale.languageCode, locale.countryCode)
+ *         .doUpdate()
+ *         .set(locale.englishName, excluded(locale.englishName));
+ * upsert.set(locale.languageCode, "en")
+ *         .set(locale.countryCode, "US")
+ *         .set(locale.englishName, "English (US)")
+ *         .execute();
+ * </pre>
+ *
+ * <p>The conflict action is applied to every row of the batches, including bulk statements
+ * of {@link #withBatchToBulk()}. A statement can't update the same row twice, so with {@link #doUpdate()}
+ * only the last of the rows of a bulk statement with the same values of the {@link #onConflict(Path[])}
+ * columns is inserted or updated. The columns of a {@link #onConflictOnConstraint(String)} target are unknown,
+ * so those rows are not removed, and a bulk statement with duplicate keys fails with
+ * "ON CONFLICT DO UPDATE command cannot affect row a second time". Use {@link #onConflict(Path[])}
+ * or avoid duplicate keys in the batches of such clause.</p>
+ */
+public class PostgreSqlR2dbcUpsertClause extends R2dbcInsertClause {
+
+    private final List<Path<?>> conflictColumns = new ArrayList<>();
+
+    @Nullable
+    private String conflictConstraint;
+
+    @Nullable
+    private DoUpdate doUpdate;
+
+    public PostgreSqlR2dbcUpsertClause(R2dbcConnectionProvider connection, Configuration configuration, RelationalPath<?> entity) {
+        super(connection, configuration, entity);
+    }
+
+    /**
+     * Get the value of the given column of the row proposed for insertion,
+     * to be used in the {@link DoUpdate} action
+     *
+     * @param column column of the table
+     * @param <T> type of the column
+     * @return excluded value of the column
+     */
+    public static <T> Expression<T> excluded(Path<T> column) {
+        return ExpressionUtils.template(column.getType(), "excluded.{0}", unqualified(column));
+    }
+
+    /**
+     * Set the columns of the unique index which is the arbiter of the conflicts
+     *
+     * @param columns columns of the unique index
+     * @return the current object
+     */
+    public PostgreSqlR2dbcUpsertClause onConflict(Path<?>... columns) {
+        conflictColumns.clear();
+        conflictColumns.addAll(Arrays.asList(columns));
+        conflictConstraint = null;
+        return this;
+    }
+
+    /**
+     * Set the constraint which is the arbiter of the conflicts. The duplicate keys of a bulk statement
+     * are not removed with this target, see the class documentation.
+     *
+     * @param constraint name of the constraint
+     * @return the current object
+     */
+    public PostgreSqlR2dbcUpsertClause onConflictOnConstraint(String constraint) {
+        conflictColumns.clear();
+        conflictConstraint = constraint;
+        return this;
+    }
+
+    /**
+     * Skip the rows which conflict with an existing row, this is the default action
+     *
+     * @return the current object
+     */
+    public PostgreSqlR2dbcUpsertClause doNothing() {
+        doUpdate = null;
+        return this;
+    }
+
+    /**
+     * Update the existing rows which conflict with the rows proposed for insertion.
+     * A conflict target must be set by {@link #onConflict(Path[])} or {@link #onConflictOnConstraint(String)}.
+     *
+     * @return update action of the clause
+     */
+    public DoUpdate doUpdate() {
+        doUpdate = new DoUpdate();
+        return doUpdate;
+    }
+
+    @Override
+    protected QueryMetadata getMetadata() {
+        QueryMetadata metadata = super.getMetadata().clone();
+        metadata.addFlag(new QueryFlag(Position.END, createConflictClause()));
+        return metadata;
+    }
+
+    @Override
+    protected List<SQLInsertBatch> getBulkRows(List<SQLInsertBatch> chunk) {
+        if (doUpdate == null || conflictColumns.isEmpty()) {
+            return chunk;
+        }
+        List<SQLInsertBatch> rows = new ArrayList<>(chunk.size());
+        Set<List<Object>> keys = new HashSet<>();
+        for (int i = chunk.size() - 1; i >= 0; i--) {
+            List<Object> key = getConflictKey(chunk.get(i));
+            if (key == null || keys.add(key)) {
+                rows.add(chunk.get(i));
+            }
+        }
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    /**
+     * Get the values of the conflict columns of the given row
+     *
+     * @return values of the conflict columns, or null if they are not constants
+     */
+    @Nullable
+    private List<Object> getConflictKey(SQLInsertBatch batch) {
+        List<Object> key = new ArrayList<>(conflictColumns.size());
+        for (Path<?> column : conflictColumns) {
+            int index = batch.getColumns().indexOf(column);
+            if (index < 0 || !(batch.getValues().get(index) instanceof Constant)) {
+                return null;
+            }
+            Object value = ((Constant<?>) batch.getValues().get(index)).getConstant();
+            if (value instanceof Null) {
+                // nulls are distinct, so the row never conflicts
+                return null;
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    private Expression<?> createConflictClause() {
+        StringBuilder template = new StringBuilder("\non conflict");
+        List<Expression<?>> args = new ArrayList<>();
+        if (!conflictColumns.isEmpty()) {
+            template.append(" (");
+            for (Path<?> column : conflictColumns) {
+                template.append(args.isEmpty() ? "" : ", ").append('{').append(args.size()).append('}');
+                args.add(unqualified(column));
+            }
+            template.append(")");
+        } else if (conflictConstraint != null) {
+            template.append(" on constraint ").append(configuration.getTemplates().quoteIdentifier(conflictConstraint));
+        }
+        if (doUpdate == null) {
+            template.append(" do nothing");
+        } else if (args.isEmpty() && conflictConstraint == null) {
+            throw new IllegalStateException("Conflict target is required to update the conflicting rows");
+        } else if (doUpdate.updates.isEmpty()) {
+            throw new IllegalStateException("No columns are updated on conflict");
+        } else {
+            template.append(" do update set ");
+            boolean first = true;
+            for (Map.Entry<Path<?>, Expression<?>> update : doUpdate.updates.entrySet()) {
+                if (!first) {
+                    template.append(", ");
+                }
+                template.append('{').append(args.size()).append("} = {").append(args.size() + 1).append('}');
+                args.add(unqualified(update.getKey()));
+                args.add(update.getValue());
+                first = false;
+            }
+            if (doUpdate.where != null) {
+                template.append(" where {").append(args.size()).append('}');
+                args.add(doUpdate.where);
+            }
+        }
+        return ExpressionUtils.template(Object.class, template.toString(), args);
+    }
+
+    private static Path<?> unqualified(Path<?> column) {
+        return ExpressionUtils.path(column.getType(), ColumnMetadata.getName(column));
+    }
+
+    /**
+     * {@link DoUpdate} is the update action of the conflicting rows
+     */
+    public final class DoUpdate {
+
+        private final Map<Path<?>, Expression<?>> updates = new LinkedHashMap<>();
+
+        @Nullable
+        private Predicate where;
+
+        private DoUpdate() {
+        }
+
+        /**
+         * Set the given column of the conflicting row to the given value
+         *
+         * @param path column
+         * @param value value, null for null
+         * @param <T> type of the column
+         * @return the current object
+         */
+        public <T> DoUpdate set(Path<T> path, @Nullable T value) {
+            if (value instanceof Expression<?>) {
+                updates.put(path, (Expression<?>) value);
+            } else if (value != null) {
+                updates.put(path, ConstantImpl.create(value));
+            } else {
+                updates.put(path, Expressions.nullExpression());
+            }
+            return this;
+        }
+
+        /**
+         * Set the given column of the conflicting row to the given expression, for example
+         * {@link #excluded(Path)} or an expression of the columns of the existing row
+         *
+         * @param path column
+         * @param expression value
+         * @param <T> type of the column
+         * @return the current object
+         */
+        public <T> DoUpdate set(Path<T> path, Expression<? extends T> expression) {
+            updates.put(path, expression != null ? expression : Expressions.nullExpression());
+            return this;
+        }
+
+        /**
+         * Set the given columns of the conflicting row to the values proposed for insertion
+         *
+         * @param paths columns
+         * @return the current object
+         */
+        public DoUpdate setExcluded(Path<?>... paths) {
+            for (Path<?> path : paths) {
+                updates.put(path, excluded(path));
+            }
+            return this;
+        }
+
+        /**
+         * Update only the conflicting rows which match the given predicates
+         *
+         * @param predicates predicates of the existing rows
+         * @return the current object
+         */
+        public DoUpdate where(Predicate... predicates) {
+            where = ExpressionUtils.and(where, ExpressionUtils.allOf(predicates));
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.r2dbc.mysql.MySqlR2dbcQueryFactory;
+import com.querydsl.r2dbc.test.env.schema.QUser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+public class MySqlR2dbcInsertClauseTest {
+
+    private static final QUser user$ = QUser.User;
+
+    private final MySqlR2dbcQueryFactory queryFactory = new MySqlR2dbcQueryFactory(Mono::empty);
+
+    @Test
+    public void keysOfInsertIgnoreAreNotDerived() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> queryFactory.insertIgnore(user$)
+                .set(user$.personName, "a")
+                .executeWithKeys(user$.id));
+    }
+
+    @Test
+    public void keysOfInsertOnDuplicateKeyUpdateAreNotDerived() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> queryFactory
+                .insertOnDuplicateKeyUpdate(user$, user$.personName.eq("b"))
+                .set(user$.personName, "a")
+                .executeWithKeys(user$.id));
+    }
+
+    @Test
+    public void keysOfInsertAndReplaceAreDerived() {
+        Assertions.assertNotNull(queryFactory.insert(user$)
+                .set(user$.personName, "a")
+                .executeWithKeys(user$.id));
+        Assertions.assertNotNull(queryFactory.replace(user$)
+                .set(user$.personName, "a")
+                .executeWithKeys(user$.id));
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.querydsl.r2dbc.test;
 
+import com.querydsl.r2dbc.StatementLimits;
 import com.querydsl.r2dbc.test.env.QueryDslTest;
 import com.querydsl.r2dbc.test.env.schema.QLocale;
 import com.querydsl.r2dbc.test.env.schema.SLocale;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.List;
 
 import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
@@ -85,4 +87,90 @@ public class R2dbcDeleteTest {
         });
     }
 
+    @Test
+    public void deleteBatchByCompositeKey() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "Deutsch")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(3L, numRowsInserted);
+            Long numRowsDeleted = env.delete(locale$)
+                    .withStatementLimits(new StatementLimits(2, 100, Long.MAX_VALUE))
+                    .where(locale$.languageCode.eq("en"), locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .where(locale$.languageCode.eq("de"), locale$.countryCode.eq("DE"))
+                    .addBatch()
+                    .where(locale$.languageCode.eq("de"), locale$.countryCode.eq("AT"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(2L, numRowsDeleted);
+            List<SLocale> locales = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .fetch();
+            Assertions.assertEquals(1L, locales.size());
+            Assertions.assertEquals("UK", locales.get(0).getCountryCode());
+        });
+    }
+
+    @Test
+    public void deleteReturning() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "Deutsch")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(3L, numRowsInserted);
+            List<SLocale> locales = env.postgreSqlDelete(locale$)
+                    .where(locale$.languageCode.eq("en"))
+                    .executeReturning(locale$)
+                    .collectList()
+                    .block();
+            Assertions.assertEquals(2L, locales.size());
+            for (SLocale locale : locales) {
+                Assertions.assertEquals("en", locale.getLanguageCode());
+                Assertions.assertEquals("English", locale.getNativeName());
+            }
+            List<String> countryCodes = env.postgreSqlDelete(locale$)
+                    .where(locale$.countryCode.eq("DE"))
+                    .executeReturning(locale$.countryCode)
+                    .collectList()
+                    .block();
+            Assertions.assertEquals(Collections.singletonList("DE"), countryCodes);
+            List<SLocale> remaining = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .fetch();
+            Assertions.assertEquals(0L, remaining.size());
+        });
+    }
+
 }
@@ -1,7 +1,9 @@
 package com.querydsl.r2dbc.test;
 
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.StatementLimits;
 import com.querydsl.r2dbc.dml.R2dbcInsertClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpsertClause;
 import com.querydsl.r2dbc.test.env.QueryDslTest;
 import com.querydsl.r2dbc.test.env.schema.QLocale;
 import com.querydsl.r2dbc.test.env.schema.QUser;
@@ -9,13 +11,16 @@ import com.querydsl.r2dbc.test.env.schema.SLocale;
 import com.querydsl.r2dbc.test.env.schema.SUser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
+import static com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpsertClause.excluded;
 import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
 
 @QueryDslTest
@@ -205,6 +210,94 @@ public class R2dbcInsertTest {
         });
     }
 
+    @Test
+    public void batchInsertWithExpressions() {
+        run(env -> {
+            Long numRowsInserted = env.insert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, Expressions.stringTemplate("upper({0})", "English"))
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, Expressions.stringTemplate("upper({0})", "English (UK)"))
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "HU")
+                    .set(locale$.languageCode, "hu")
+                    .set(locale$.englishName, "Hungarian")
+                    .set(locale$.nativeName, "Magyar")
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(3L, numRowsInserted);
+            List<String> englishNames = env.jdbcQuery()
+                    .select(locale$.englishName)
+                    .from(locale$)
+                    .orderBy(locale$.englishName.asc())
+                    .fetch();
+            Assertions.assertEquals(Arrays.asList("ENGLISH", "ENGLISH (UK)", "Hungarian"), englishNames);
+        });
+    }
+
+    @Test
+    public void batchBulkInsertWithStatementLimits() {
+        run(env -> {
+            R2dbcInsertClause insert = env.insert(locale$)
+                    .withBatchToBulk()
+                    .withStatementLimits(new StatementLimits(9, 100, Long.MAX_VALUE));
+            IntStream.range(0, 10).forEach(i -> insert
+                    .set(locale$.countryCode, "C" + i)
+                    .set(locale$.languageCode, "l" + i)
+                    .set(locale$.englishName, "Locale " + i)
+                    .set(locale$.nativeName, "Locale " + i)
+                    .addBatch());
+            Long numRowsInserted = insert
+                    .execute()
+                    .block();
+            Assertions.assertEquals(10L, numRowsInserted);
+            long count = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .fetchCount();
+            Assertions.assertEquals(10L, count);
+        });
+    }
+
+    @Test
+    public void bulkLoad() {
+        run(env -> {
+            env.insert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .block();
+            Flux<Object[]> rows = Flux.range(1, 25)
+                    .map(i -> new Object[] {new UUID(i, 1), "Person \"name\"\n" + i, i % 2 == 0,
+                            LocalDateTime.of(2010, 1, 1, 12, 30, 20).plusDays(i), "en", "US"});
+            Long numRowsInserted = env.postgreSqlInsert(user$)
+                    .columns(user$.publicId, user$.personName, user$.disabled, user$.creationTime,
+                            user$.preferredLocaleLanguageCode, user$.preferredLocaleCountryCode)
+                    .bulkLoad(rows, 10)
+                    .block();
+            Assertions.assertEquals(25L, numRowsInserted);
+            List<SUser> users = env.jdbcQuery()
+                    .select(user$)
+                    .from(user$)
+                    .orderBy(user$.creationTime.asc())
+                    .fetch();
+            Assertions.assertEquals(25, users.size());
+            SUser user = users.get(1);
+            Assertions.assertEquals(new UUID(2, 1), user.getPublicId());
+            Assertions.assertEquals("Person \"name\"\n2", user.getPersonName());
+            Assertions.assertTrue(user.getDisabled());
+            Assertions.assertEquals(LocalDateTime.of(2010, 1, 3, 12, 30, 20), user.getCreationTime());
+        });
+    }
+
     @Test
     public void batchInsertWithKeys() {
         run(env -> {
@@ -323,4 +416,156 @@ public class R2dbcInsertTest {
         });
     }
 
+    @Test
+    public void batchBulkInsertWithKeys() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute();
+            Assertions.assertEquals(1L, numRowsInserted);
+            R2dbcInsertClause insert = env.insert(user$)
+                    .withBatchToBulk()
+                    .withStatementLimits(new StatementLimits(100, 3, Long.MAX_VALUE));
+            LongStream.rangeClosed(1L, 10L).forEach(id -> insert
+                    .set(user$.publicId, new UUID(id, 1))
+                    .set(user$.creationTime, LocalDateTime.of(2010, 1, 1, 12, 30, 20))
+                    .set(user$.disabled, false)
+                    .set(user$.personName, "Person name " + id)
+                    .set(user$.preferredLocaleLanguageCode, "en")
+                    .set(user$.preferredLocaleCountryCode, "US")
+                    .addBatch()
+            );
+            List<Long> ids = insert
+                    .executeWithKeys(user$.id)
+                    .collectList()
+                    .block();
+            Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids);
+            R2dbcInsertClause batchInsert = env.insert(user$);
+            LongStream.rangeClosed(11L, 13L).forEach(id -> batchInsert
+                    .set(user$.publicId, new UUID(id, 1))
+                    .set(user$.creationTime, LocalDateTime.of(2010, 1, 1, 12, 30, 20))
+                    .set(user$.disabled, false)
+                    .set(user$.personName, "Person name " + id)
+                    .set(user$.preferredLocaleLanguageCode, "en")
+                    .set(user$.preferredLocaleCountryCode, "US")
+                    .addBatch()
+            );
+            List<SUser> users = batchInsert
+                    .executeWithKeys(user$)
+                    .collectList()
+                    .block();
+            Assertions.assertNotNull(users);
+            Assertions.assertEquals(3, users.size());
+            IntStream.range(0, 3).forEach(i -> {
+                SUser user = users.get(i);
+                long id = i + 11;
+                Assertions.assertEquals(id, user.getId());
+                Assertions.assertEquals(new UUID(id, 1), user.getPublicId());
+                Assertions.assertEquals("Person name " + id, user.getPersonName());
+            });
+        });
+    }
+
+    @Test
+    public void upsertBatchToBulk() {
+        run(env -> {
+            env.insert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English")
+                    .set(locale$.nativeName, "English")
+                    .set(locale$.description, "USA")
+                    .execute()
+                    .block();
+            PostgreSqlR2dbcUpsertClause upsert = env.postgreSqlUpsert(locale$);
+            upsert.onConflict(locale$.languageCode, locale$.countryCode)
+                    .doUpdate()
+                    .setExcluded(locale$.englishName)
+                    .set(locale$.nativeName, excluded(locale$.nativeName))
+                    .where(locale$.description.eq("USA"));
+            Long numRowsInserted = upsert
+                    .withBatchToBulk()
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English (US)")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English (UK)")
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(2L, numRowsInserted);
+            List<SLocale> locales = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch();
+            Assertions.assertEquals(2, locales.size());
+            Assertions.assertEquals("English (UK)", locales.get(0).getEnglishName());
+            Assertions.assertNull(locales.get(0).getDescription());
+            Assertions.assertEquals("English (US)", locales.get(1).getEnglishName());
+            Assertions.assertEquals("English (US)", locales.get(1).getNativeName());
+            Assertions.assertEquals("USA", locales.get(1).getDescription());
+            Long numRowsIgnored = env.postgreSqlUpsert(locale$)
+                    .onConflict(locale$.languageCode, locale$.countryCode)
+                    .doNothing()
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .block();
+            Assertions.assertEquals(0L, numRowsIgnored);
+        });
+    }
+
+    @Test
+    public void upsertBatchToBulkDuplicateKey() {
+        run(env -> {
+            env.insert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .block();
+            PostgreSqlR2dbcUpsertClause upsert = env.postgreSqlUpsert(locale$);
+            upsert.onConflict(locale$.languageCode, locale$.countryCode)
+                    .doUpdate()
+                    .setExcluded(locale$.englishName);
+            Long numRowsUpserted = upsert
+                    .withBatchToBulk()
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (1)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (2)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(2L, numRowsUpserted);
+            List<String> englishNames = env.jdbcQuery()
+                    .select(locale$.englishName)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch();
+            Assertions.assertEquals(Arrays.asList("English (UK)", "English (2)"), englishNames);
+        });
+    }
+
 }
@@ -0,0 +1,104 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.R2dbcParallel;
+import com.querydsl.r2dbc.test.env.QueryDslTest;
+import com.querydsl.r2dbc.test.env.factory.RecordingConnectionFactory;
+import com.querydsl.r2dbc.test.env.schema.QLocale;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
+
+@QueryDslTest
+public class R2dbcParallelTest {
+
+    private static final QLocale locale$ = QLocale.Locale;
+
+    @Test
+    public void parallel() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "Deutsch")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(2L, numRowsInserted);
+            R2dbcParallel parallel = env.transactionalParallel(2);
+            List<Mono<Long>> counts = new ArrayList<>();
+            for (String languageCode : Arrays.asList("en", "de", "fr", "en", "de")) {
+                counts.add(parallel.add(env.transactionalQuery()
+                        .select(locale$.countryCode)
+                        .from(locale$)
+                        .where(locale$.languageCode.eq(languageCode))
+                        .fetchCount()));
+            }
+            Flux<String> countryCodes = parallel.add(env.transactionalQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch());
+            Assertions.assertEquals(Arrays.asList(1L, 1L, 0L, 1L, 1L), Flux.concat(counts).collectList().block());
+            Assertions.assertEquals(Arrays.asList("DE", "US"), countryCodes.collectList().block());
+        });
+    }
+
+    @Test
+    public void parallelCancel() {
+        run(env -> {
+            RecordingConnectionFactory connectionFactory = env.transactionalConnectionFactory();
+            R2dbcParallel parallel = env.transactionalParallel(2);
+            List<Mono<Long>> sleeps = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                sleeps.add(parallel.add(env.transactionalQuery()
+                        .select(Expressions.numberTemplate(Long.class, "(select count(*) from pg_sleep(10))"))
+                        .fetchOne()));
+            }
+            Disposable subscription = Mono.when(sleeps).subscribe();
+            awaitOpenConnections(connectionFactory, 2);
+            subscription.dispose();
+            awaitOpenConnections(connectionFactory, 0);
+            Assertions.assertEquals(2, connectionFactory.getMaxOpenConnections());
+            Assertions.assertThrows(CancellationException.class, () -> sleeps.get(3).block());
+        });
+    }
+
+    @Test
+    public void parallelFailure() {
+        run(env -> {
+            R2dbcParallel parallel = env.transactionalParallel(2);
+            Mono<Long> count = parallel.add(env.transactionalQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetchCount());
+            Mono<Long> failure = parallel.add(Mono.error(new IllegalStateException("Failure")));
+            Assertions.assertEquals(0L, count.block());
+            Assertions.assertThrows(IllegalStateException.class, failure::block);
+            Assertions.assertThrows(IllegalStateException.class, () -> parallel.execute().block());
+        });
+    }
+
+    private static void awaitOpenConnections(RecordingConnectionFactory connectionFactory, int openConnections) {
+        Flux.interval(Duration.ofMillis(10))
+                .filter(tick -> connectionFactory.getOpenConnections() == openConnections)
+                .blockFirst(Duration.ofSeconds(5));
+        Assertions.assertEquals(openConnections, connectionFactory.getOpenConnections());
+    }
+
+}
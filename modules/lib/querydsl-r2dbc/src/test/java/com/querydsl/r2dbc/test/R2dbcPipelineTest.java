@@ -0,0 +1,86 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.r2dbc.R2dbcPipeline;
+import com.querydsl.r2dbc.test.env.QueryDslTest;
+import com.querydsl.r2dbc.test.env.schema.QLocale;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
+
+@QueryDslTest
+public class R2dbcPipelineTest {
+
+    private static final QLocale locale$ = QLocale.Locale;
+
+    @Test
+    public void pipeline() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(2L, numRowsInserted);
+            R2dbcPipeline pipeline = env.pipeline();
+            Flux<String> countryCodes = pipeline.add(env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch());
+            Mono<Long> numRowsUpdated = pipeline.add(env.update(locale$)
+                    .set(locale$.nativeName, "English (UK)")
+                    .where(locale$.countryCode.eq("UK"))
+                    .execute());
+            Mono<Long> count = pipeline.add(env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetchCount());
+            pipeline.execute().block();
+            Assertions.assertEquals(Arrays.asList("UK", "US"), countryCodes.collectList().block());
+            Assertions.assertEquals(1L, numRowsUpdated.block());
+            Assertions.assertEquals(2L, count.block());
+        });
+    }
+
+    @Test
+    public void pipelineFailure() {
+        run(env -> {
+            R2dbcPipeline pipeline = env.transactionalPipeline();
+            Mono<Long> numRowsInserted = pipeline.add(env.transactionalInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute());
+            Mono<Long> duplicate = pipeline.add(env.transactionalInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute());
+            Assertions.assertEquals(1L, numRowsInserted.block());
+            Assertions.assertThrows(RuntimeException.class, duplicate::block);
+            Assertions.assertThrows(RuntimeException.class, () -> pipeline.execute().block());
+            Assertions.assertEquals(1, env.transactionalConnectionFactory().getMaxOpenConnections());
+            List<String> countryCodes = env.jdbcQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetch();
+            Assertions.assertEquals(Arrays.asList("US"), countryCodes);
+        });
+    }
+
+}
@@ -1,13 +1,19 @@
 package com.querydsl.r2dbc.test;
 
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryResults;
 import com.querydsl.core.Tuple;
+import com.querydsl.core.group.Group;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.Wildcard;
 import com.querydsl.corereactive.types.dsl.OptionalExpression;
+import com.querydsl.r2dbc.FetchResultsStrategy;
+import com.querydsl.r2dbc.KeysetPage;
 import com.querydsl.r2dbc.test.env.QueryDslTest;
+import com.querydsl.r2dbc.test.env.runner.TestRunner;
 import com.querydsl.r2dbc.test.env.schema.QLocale;
 import com.querydsl.r2dbc.test.env.schema.QUser;
 import com.querydsl.r2dbc.test.env.schema.SUser;
@@ -17,10 +23,17 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import static com.querydsl.corereactive.group.GroupBy.groupBy;
+import static com.querydsl.corereactive.group.GroupBy.list;
 import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
 
 @QueryDslTest
@@ -412,4 +425,346 @@ public class R2dbcQueryTest {
         });
     }
 
+    @Test
+    public void fetchOneNonUnique() {
+        run(env -> {
+            // Given
+            insertLocales(env);
+            // When, Then
+            Assertions.assertThrows(NonUniqueResultException.class, () ->
+                    env.query()
+                            .select(locale$.countryCode)
+                            .from(locale$)
+                            .fetchOne()
+                            .block()
+            );
+        });
+    }
+
+    @Test
+    public void fetchExists() {
+        run(env -> {
+            // Given
+            insertLocales(env);
+            // When
+            Boolean existing = env.query()
+                    .select(locale$)
+                    .from(locale$)
+                    .where(locale$.countryCode.eq("UK"))
+                    .orderBy(locale$.englishName.asc())
+                    .fetchExists()
+                    .block();
+            Boolean missing = env.query()
+                    .select(locale$)
+                    .from(locale$)
+                    .where(locale$.countryCode.eq("HU"))
+                    .fetchExists()
+                    .block();
+            // Then
+            Assertions.assertEquals(Boolean.TRUE, existing);
+            Assertions.assertEquals(Boolean.FALSE, missing);
+        });
+    }
+
+    @Test
+    public void fetchCount() {
+        run(env -> {
+            // Given
+            insertLocales(env);
+            // When
+            Long count = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .where(locale$.languageCode.eq("en"))
+                    .limit(1)
+                    .fetchCount()
+                    .block();
+            // Then
+            Assertions.assertEquals(2L, count);
+        });
+    }
+
+    @Test
+    public void fetchResultsWithConcurrentQueries() {
+        run(env -> {
+            // Given
+            insertLocales(env);
+            // When
+            QueryResults<String> results = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .limit(1)
+                    .fetchResults(FetchResultsStrategy.CONCURRENT_QUERIES)
+                    .block();
+            // Then
+            Assertions.assertNotNull(results);
+            Assertions.assertEquals(ImmutableList.of("UK"), results.getResults());
+            Assertions.assertEquals(2L, results.getTotal());
+        });
+    }
+
+    @Test
+    public void fetchResultsWithWindowCount() {
+        run(env -> {
+            // Given
+            insertLocales(env);
+            // When
+            QueryResults<String> page = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .limit(1)
+                    .offset(1)
+                    .fetchResults(FetchResultsStrategy.WINDOW_COUNT)
+                    .block();
+            QueryResults<String> empty = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .limit(1)
+                    .offset(2)
+                    .fetchResults(FetchResultsStrategy.WINDOW_COUNT)
+                    .block();
+            // Then
+            Assertions.assertNotNull(page);
+            Assertions.assertEquals(ImmutableList.of("US"), page.getResults());
+            Assertions.assertEquals(2L, page.getTotal());
+            Assertions.assertNotNull(empty);
+            Assertions.assertTrue(empty.isEmpty());
+            Assertions.assertEquals(2L, empty.getTotal());
+        });
+    }
+
+    @Test
+    public void fetchPages() {
+        run(env -> {
+            // Given
+            insertUsers(env, 20);
+            List<Long> expected = env.query()
+                    .select(user$.id)
+                    .from(user$)
+                    .orderBy(user$.creationTime.desc(), user$.id.asc())
+                    .fetch()
+                    .collectList()
+                    .block();
+            // When
+            List<Long> result = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                KeysetPage<Long> page = env.query()
+                        .select(user$.id)
+                        .from(user$)
+                        .orderBy(user$.creationTime.desc(), user$.id.asc())
+                        .fetchPage(cursor, 7)
+                        .block();
+                Assertions.assertNotNull(page);
+                result.addAll(page.getResults());
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            // Then
+            Assertions.assertEquals(expected, result);
+            Assertions.assertEquals(3, pages);
+        });
+    }
+
+    @Test
+    public void fetchPagesWithLongKey() {
+        run(env -> {
+            // Given
+            String prefix = String.join("", Collections.nCopies(70000, "\u00e9"));
+            env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, prefix + "1")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, prefix + "2")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .execute();
+            // When
+            KeysetPage<String> first = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.englishName.asc())
+                    .fetchPage(null, 1)
+                    .block();
+            Assertions.assertNotNull(first);
+            KeysetPage<String> second = env.query()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .orderBy(locale$.englishName.asc())
+                    .fetchPage(first.getNextCursor(), 1)
+                    .block();
+            // Then
+            Assertions.assertEquals(ImmutableList.of("US"), first.getResults());
+            Assertions.assertNotNull(second);
+            Assertions.assertEquals(ImmutableList.of("UK"), second.getResults());
+        });
+    }
+
+    @Test
+    public void fetchChunked() {
+        run(env -> {
+            // Given
+            insertUsers(env, 20);
+            List<Long> ids = env.query()
+                    .select(user$.id)
+                    .from(user$)
+                    .orderBy(user$.id.asc())
+                    .fetch()
+                    .collectList()
+                    .block();
+            Assertions.assertNotNull(ids);
+            // When
+            List<String> names = env.query()
+                    .select(user$.personName)
+                    .from(user$)
+                    .fetchChunked(user$.id, 6)
+                    .collectList()
+                    .block();
+            List<Long> resumed = env.query()
+                    .select(user$.id)
+                    .from(user$)
+                    .fetchChunked(user$.id, 6, ids.get(14))
+                    .collectList()
+                    .block();
+            // Then
+            Assertions.assertNotNull(names);
+            Assertions.assertEquals(20, names.size());
+            Assertions.assertEquals(20, new HashSet<>(names).size());
+            Assertions.assertEquals(ids.subList(15, 20), resumed);
+        });
+    }
+
+    @Test
+    public void fetchStreaming() {
+        run(env -> {
+            // Given
+            insertUsers(env, 5);
+            List<String> statements = env.transactionalConnectionFactory().getStatements();
+            // When
+            List<String> names = env.transactionalConnectionProvider()
+                    .transactional(() -> env.transactionalPostgreSqlQuery()
+                            .select(user$.personName)
+                            .from(user$)
+                            .orderBy(user$.id.asc())
+                            .fetchStreaming(2))
+                    .collectList()
+                    .block();
+            // Then
+            Assertions.assertNotNull(names);
+            Assertions.assertEquals(5, names.size());
+            Assertions.assertEquals(3, countStatements(statements, "fetch forward 2 from "));
+            Assertions.assertEquals(1, countStatements(statements, "close "));
+        });
+    }
+
+    @Test
+    public void fetchStreamingCancelled() {
+        run(env -> {
+            // Given
+            insertUsers(env, 20);
+            List<String> statements = env.transactionalConnectionFactory().getStatements();
+            // When
+            Long openCursors = env.transactionalConnectionProvider()
+                    .transactional(() -> env.transactionalPostgreSqlQuery()
+                            .select(user$.personName)
+                            .from(user$)
+                            .fetchStreaming(2)
+                            .take(3)
+                            .then(env.transactionalQuery()
+                                    .select(Expressions.numberTemplate(Long.class, "(select count(*) from pg_cursors)"))
+                                    .fetchOne()))
+                    .single()
+                    .block();
+            // Then
+            Assertions.assertEquals(0L, openCursors);
+            Assertions.assertEquals(1, countStatements(statements, "close "));
+            // at most a batch is fetched ahead of the demand
+            Assertions.assertTrue(countStatements(statements, "fetch forward 2 from ") <= 3, statements.toString());
+        });
+    }
+
+    @Test
+    public void fetchStreamingWithoutTransaction() {
+        run(env -> Assertions.assertThrows(IllegalStateException.class, () -> env.postgreSqlQuery()
+                .select(user$.personName)
+                .from(user$)
+                .fetchStreaming(2)
+                .collectList()
+                .block()));
+    }
+
+    @Test
+    public void transformGroupBy() {
+        run(env -> {
+            // Given
+            insertUsers(env, 6);
+            // When
+            List<List<Long>> groups = env.query()
+                    .from(user$)
+                    .orderBy(user$.creationTime.asc(), user$.id.asc())
+                    .transform(groupBy(user$.creationTime).list(list(user$.id)))
+                    .collectList()
+                    .block();
+            Map<LocalDateTime, Group> groupMap = env.query()
+                    .from(user$)
+                    .transform(groupBy(user$.creationTime).as(user$.creationTime, list(user$.personName)))
+                    .block();
+            // Then
+            Assertions.assertEquals(ImmutableList.of(
+                    ImmutableList.of(3L, 6L),
+                    ImmutableList.of(1L, 4L),
+                    ImmutableList.of(2L, 5L)
+            ), groups);
+            Assertions.assertNotNull(groupMap);
+            Assertions.assertEquals(3, groupMap.size());
+            LocalDateTime creationTime = LocalDateTime.of(2010, 1, 1, 12, 30, 20);
+            Group group = groupMap.get(creationTime);
+            Assertions.assertEquals(creationTime, group.getOne(user$.creationTime));
+            Assertions.assertEquals(ImmutableList.of("Person name 3", "Person name 6"),
+                    group.getList(user$.personName).stream().sorted().collect(Collectors.toList()));
+        });
+    }
+
+    private static void insertUsers(TestRunner.Environment env, int count) {
+        insertLocales(env);
+        for (long id = 1; id <= count; id++) {
+            env.jdbcInsert(user$)
+                    .set(user$.publicId, new UUID(id, 1))
+                    .set(user$.creationTime, LocalDateTime.of(2010, 1, 1, 12, 30, 20).plusDays(id % 3))
+                    .set(user$.disabled, false)
+                    .set(user$.personName, "Person name " + id)
+                    .set(user$.preferredLocaleLanguageCode, "en")
+                    .set(user$.preferredLocaleCountryCode, "US")
+                    .execute();
+        }
+    }
+
+    private static void insertLocales(TestRunner.Environment env) {
+        env.jdbcInsert(locale$)
+                .set(locale$.countryCode, "US")
+                .set(locale$.languageCode, "en")
+                .set(locale$.englishName, "English (US)")
+                .set(locale$.nativeName, "English")
+                .addBatch()
+                .set(locale$.countryCode, "UK")
+                .set(locale$.languageCode, "en")
+                .set(locale$.englishName, "English (UK)")
+                .set(locale$.nativeName, "English")
+                .addBatch()
+                .execute();
+    }
+
+    private static long countStatements(List<String> statements, String prefix) {
+        synchronized (statements) {
+            return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+        }
+    }
+
 }
@@ -0,0 +1,96 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.R2dbcSerializer;
+import com.querydsl.r2dbc.test.env.schema.QUser;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLTemplates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class R2dbcSerializerTest {
+
+    private static final QUser user$ = QUser.User;
+
+    @Test
+    public void postgreSqlIndexedBindMarkers() {
+        String sql = query(new PostgreSQLTemplates(true)).toString();
+        Assertions.assertTrue(sql.contains("\"User\".\"Id\" in ($1, $2, $3)"), sql);
+        Assertions.assertTrue(sql.contains("\"User\".\"PersonName\" = $4"), sql);
+        Assertions.assertTrue(sql.contains("\"User\".\"PersonName\" ? 'key'"), sql);
+        Assertions.assertTrue(sql.endsWith("limit $5"), sql);
+    }
+
+    @Test
+    public void mySqlAnonymousBindMarkers() {
+        String sql = query(new MySQLTemplates(true)).toString();
+        Assertions.assertTrue(sql.contains("`User`.`Id` in (?, ?, ?)"), sql);
+        Assertions.assertTrue(sql.endsWith("limit ?"), sql);
+    }
+
+    @Test
+    public void postgreSqlArrayParameters() {
+        SQLBindings sql = query(new PostgreSQLTemplates(true))
+                .where(user$.personName.notIn("a", "b"))
+                .withArrayParameters()
+                .getSQL();
+        Assertions.assertTrue(sql.getSQL().contains("\"User\".\"Id\" = any($1)"), sql.getSQL());
+        Assertions.assertTrue(sql.getSQL().contains("\"User\".\"PersonName\" <> all($3)"), sql.getSQL());
+        Assertions.assertArrayEquals(new Long[] {1L, 2L, 3L}, (Object[]) sql.getNullFriendlyBindings().get(0));
+        Assertions.assertArrayEquals(new String[] {"a", "b"}, (Object[]) sql.getNullFriendlyBindings().get(2));
+    }
+
+    @Test
+    public void mySqlIgnoresArrayParameters() {
+        String sql = query(new MySQLTemplates(true)).withArrayParameters().toString();
+        Assertions.assertTrue(sql.contains("`User`.`Id` in (?, ?, ?)"), sql);
+    }
+
+    @Test
+    public void mySqlInListPadding() {
+        SQLBindings sql = query(new MySQLTemplates(true))
+                .where(user$.personName.notIn("a", "b", "c", "d", "e"))
+                .withInListPadding()
+                .getSQL();
+        Assertions.assertTrue(sql.getSQL().contains("`User`.`Id` in (?, ?, ?, ?)"), sql.getSQL());
+        Assertions.assertTrue(sql.getSQL().contains("`User`.`PersonName` not in (?, ?, ?, ?, ?, ?, ?, ?)"), sql.getSQL());
+        Assertions.assertEquals(Arrays.<Object>asList(1L, 2L, 3L, 3L), sql.getNullFriendlyBindings().subList(0, 4));
+        Assertions.assertEquals(Arrays.<Object>asList("e", "e", "e"), sql.getNullFriendlyBindings().subList(10, 13));
+    }
+
+    @Test
+    public void mySqlInListChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < R2dbcSerializer.MAX_IN_LIST_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        SQLBindings sql = new R2dbcQuery<Void>(null, new Configuration(new MySQLTemplates(true)))
+                .select(user$.id)
+                .from(user$)
+                .where(user$.id.in(ids))
+                .withInListPadding()
+                .getSQL();
+        Assertions.assertTrue(sql.getSQL().contains("(`User`.`Id` in (?"), sql.getSQL());
+        Assertions.assertTrue(sql.getSQL().contains("?) or `User`.`Id` in (?))"), sql.getSQL());
+        Assertions.assertEquals(R2dbcSerializer.MAX_IN_LIST_SIZE + 1, sql.getNullFriendlyBindings().size());
+    }
+
+    private static R2dbcQuery<Long> query(SQLTemplates templates) {
+        return new R2dbcQuery<Void>(null, new Configuration(templates))
+                .select(user$.id)
+                .from(user$)
+                .where(user$.id.in(1L, 2L, 3L),
+                        user$.personName.eq("?"),
+                        Expressions.booleanTemplate("{0} ? 'key'", user$.personName))
+                .limit(10);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.R2dbcSqlCache;
+import com.querydsl.r2dbc.test.env.schema.QUser;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import com.querydsl.sql.SQLBindings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class R2dbcSqlCacheTest {
+
+    private static final QUser user$ = QUser.User;
+
+    @Test
+    public void sameShapeIsServedFromCache() {
+        Configuration configuration = new Configuration(new PostgreSQLTemplates(true));
+        R2dbcSqlCache cache = R2dbcSqlCache.of(configuration);
+        SQLBindings first = query(configuration, 1L, "a").getSQL();
+        SQLBindings second = query(configuration, 2L, "b").getSQL();
+        Assertions.assertEquals(first.getSQL(), second.getSQL());
+        Assertions.assertEquals(Arrays.asList(1L, 3L, "a", 10L), first.getNullFriendlyBindings());
+        Assertions.assertEquals(Arrays.asList(2L, 3L, "b", 20L), second.getNullFriendlyBindings());
+        Assertions.assertEquals(1L, cache.getMissCount());
+        Assertions.assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void valueDependentShapeIsNotCached() {
+        Configuration configuration = new Configuration(new PostgreSQLTemplates(true));
+        R2dbcSqlCache cache = R2dbcSqlCache.of(configuration);
+        SQLBindings first = new R2dbcQuery<Void>(null, configuration)
+                .select(user$.id)
+                .from(user$)
+                .where(user$.personName.startsWith("a"))
+                .getSQL();
+        SQLBindings second = new R2dbcQuery<Void>(null, configuration)
+                .select(user$.id)
+                .from(user$)
+                .where(user$.personName.startsWith("b_"))
+                .getSQL();
+        Assertions.assertEquals(Arrays.asList("a%"), first.getNullFriendlyBindings());
+        Assertions.assertEquals(Arrays.asList("b\\_%"), second.getNullFriendlyBindings());
+        Assertions.assertEquals(0L, cache.getHitCount());
+    }
+
+    @Test
+    public void arrayParametersAreServedFromCache() {
+        Configuration configuration = new Configuration(new PostgreSQLTemplates(true));
+        R2dbcSqlCache cache = R2dbcSqlCache.of(configuration);
+        SQLBindings first = arrayQuery(configuration, 1L, 2L, 3L).getSQL();
+        SQLBindings second = arrayQuery(configuration, 4L, 5L, 6L, 7L, 8L).getSQL();
+        Assertions.assertEquals(first.getSQL(), second.getSQL());
+        Assertions.assertTrue(first.getSQL().contains("= any($1)"), first.getSQL());
+        Assertions.assertArrayEquals(new Long[] {1L, 2L, 3L}, (Long[]) first.getNullFriendlyBindings().get(0));
+        Assertions.assertArrayEquals(new Long[] {4L, 5L, 6L, 7L, 8L}, (Long[]) second.getNullFriendlyBindings().get(0));
+        Assertions.assertEquals(1L, cache.getMissCount());
+        Assertions.assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void paddedListsAreServedFromCache() {
+        Configuration configuration = new Configuration(new PostgreSQLTemplates(true));
+        R2dbcSqlCache cache = R2dbcSqlCache.of(configuration);
+        SQLBindings first = paddedQuery(configuration, 1L, 2L, 3L).getSQL();
+        SQLBindings second = paddedQuery(configuration, 4L, 5L, 6L, 7L).getSQL();
+        SQLBindings third = paddedQuery(configuration, 1L, 2L, 3L, 4L, 5L).getSQL();
+        Assertions.assertEquals(first.getSQL(), second.getSQL());
+        Assertions.assertNotEquals(first.getSQL(), third.getSQL());
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 3L), first.getNullFriendlyBindings());
+        Assertions.assertEquals(Arrays.asList(4L, 5L, 6L, 7L), second.getNullFriendlyBindings());
+        Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L), third.getNullFriendlyBindings());
+        Assertions.assertEquals(2L, cache.getMissCount());
+        Assertions.assertEquals(1L, cache.getHitCount());
+    }
+
+    private static R2dbcQuery<Long> paddedQuery(Configuration configuration, Long... ids) {
+        R2dbcQuery<Long> query = new R2dbcQuery<Void>(null, configuration)
+                .select(user$.id)
+                .from(user$)
+                .where(user$.id.in(ids));
+        query.setUseInListPadding(true);
+        return query;
+    }
+
+    private static R2dbcQuery<Long> arrayQuery(Configuration configuration, Long... ids) {
+        R2dbcQuery<Long> query = new R2dbcQuery<Void>(null, configuration)
+                .select(user$.id)
+                .from(user$)
+                .where(user$.id.in(ids));
+        query.setUseArrayParameters(true);
+        return query;
+    }
+
+    private static R2dbcQuery<Long> query(Configuration configuration, long id, String name) {
+        return new R2dbcQuery<Void>(null, configuration)
+                .select(user$.id)
+                .from(user$)
+                .where(user$.id.in(id, 3L), user$.personName.eq(name))
+                .limit(id * 10);
+    }
+
+}
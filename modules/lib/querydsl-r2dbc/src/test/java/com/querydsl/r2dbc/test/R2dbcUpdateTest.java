@@ -6,6 +6,8 @@ import com.querydsl.r2dbc.test.env.schema.SLocale;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
@@ -100,4 +102,249 @@ public class R2dbcUpdateTest {
         });
     }
 
+    @Test
+    public void updateBatchWithDifferentShapes() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "German")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(3L, numRowsInserted);
+            Long numRowsUpdated = env.update(locale$)
+                    .set(locale$.description, "US")
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.nativeName, "Deutsch")
+                    .where(locale$.countryCode.eq("DE"), locale$.languageCode.eq("de"))
+                    .addBatch()
+                    .set(locale$.description, "UK")
+                    .where(locale$.countryCode.eq("UK"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(3L, numRowsUpdated);
+            List<SLocale> locales = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch();
+            Assertions.assertEquals(3L, locales.size());
+            Assertions.assertNull(locales.get(0).getDescription());
+            Assertions.assertEquals("Deutsch", locales.get(0).getNativeName());
+            Assertions.assertEquals("UK", locales.get(1).getDescription());
+            Assertions.assertEquals("English", locales.get(1).getNativeName());
+            Assertions.assertEquals("US", locales.get(2).getDescription());
+            Assertions.assertEquals("English", locales.get(2).getNativeName());
+        });
+    }
+
+    @Test
+    public void updateBatchWithAlternatingShapes() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute();
+            Assertions.assertEquals(1L, numRowsInserted);
+            Long numRowsUpdated = env.update(locale$)
+                    .set(locale$.englishName, "First")
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.nativeName, locale$.englishName)
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.englishName, "Second")
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(3L, numRowsUpdated);
+            SLocale locale = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .fetchOne();
+            Assertions.assertEquals("Second", locale.getEnglishName());
+            Assertions.assertEquals("First", locale.getNativeName());
+        });
+    }
+
+    @Test
+    public void updateBatchToBulk() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English (US)")
+                    .set(locale$.description, "US")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English (UK)")
+                    .set(locale$.description, "UK")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "German")
+                    .set(locale$.description, "DE")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(3L, numRowsInserted);
+            Long numRowsUpdated = env.update(locale$)
+                    .withBatchToBulk()
+                    .set(locale$.description, "US")
+                    .set(locale$.nativeName, "English")
+                    .where(locale$.languageCode.eq("en"), locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.description, "DE")
+                    .set(locale$.nativeName, "Deutsch")
+                    .where(locale$.languageCode.eq("de"), locale$.countryCode.eq("DE"))
+                    .addBatch()
+                    .setNull(locale$.description)
+                    .set(locale$.nativeName, "English")
+                    .where(locale$.languageCode.eq("en"), locale$.countryCode.eq("UK"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(3L, numRowsUpdated);
+            List<SLocale> locales = env.jdbcQuery()
+                    .select(locale$)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch();
+            Assertions.assertEquals(3L, locales.size());
+            Assertions.assertEquals("DE", locales.get(0).getDescription());
+            Assertions.assertEquals("Deutsch", locales.get(0).getNativeName());
+            Assertions.assertNull(locales.get(1).getDescription());
+            Assertions.assertEquals("English", locales.get(1).getNativeName());
+            Assertions.assertEquals("US", locales.get(2).getDescription());
+            Assertions.assertEquals("English", locales.get(2).getNativeName());
+        });
+    }
+
+    @Test
+    public void updateBatchToBulkInOrder() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "UK")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (UK)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(2L, numRowsInserted);
+            Long numRowsUpdated = env.update(locale$)
+                    .withBatchToBulk()
+                    .set(locale$.englishName, locale$.englishName.concat(" (old)"))
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.englishName, "English")
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .set(locale$.englishName, "British")
+                    .where(locale$.countryCode.eq("UK"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(3L, numRowsUpdated);
+            List<String> englishNames = env.jdbcQuery()
+                    .select(locale$.englishName)
+                    .from(locale$)
+                    .orderBy(locale$.countryCode.asc())
+                    .fetch();
+            Assertions.assertEquals(Arrays.asList("British", "English"), englishNames);
+        });
+    }
+
+    @Test
+    public void updateBatchToBulkOfKey() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "AA")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (AA)")
+                    .set(locale$.nativeName, "English")
+                    .execute();
+            Assertions.assertEquals(1L, numRowsInserted);
+            Long numRowsUpdated = env.update(locale$)
+                    .withBatchToBulk()
+                    .set(locale$.countryCode, "BB")
+                    .where(locale$.countryCode.eq("AA"))
+                    .addBatch()
+                    .set(locale$.countryCode, "CC")
+                    .where(locale$.countryCode.eq("BB"))
+                    .addBatch()
+                    .execute()
+                    .block();
+            Assertions.assertEquals(2L, numRowsUpdated);
+            List<String> countryCodes = env.jdbcQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetch();
+            Assertions.assertEquals(Collections.singletonList("CC"), countryCodes);
+        });
+    }
+
+    @Test
+    public void updateReturning() {
+        run(env -> {
+            Long numRowsInserted = env.jdbcInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .addBatch()
+                    .set(locale$.countryCode, "DE")
+                    .set(locale$.languageCode, "de")
+                    .set(locale$.englishName, "German")
+                    .set(locale$.nativeName, "Deutsch")
+                    .addBatch()
+                    .execute();
+            Assertions.assertEquals(2L, numRowsInserted);
+            List<SLocale> locales = env.postgreSqlUpdate(locale$)
+                    .set(locale$.description, "Updated")
+                    .where(locale$.languageCode.eq("en"))
+                    .executeReturning(locale$)
+                    .collectList()
+                    .block();
+            Assertions.assertEquals(1L, locales.size());
+            Assertions.assertEquals("US", locales.get(0).getCountryCode());
+            Assertions.assertEquals("English", locales.get(0).getNativeName());
+            Assertions.assertEquals("Updated", locales.get(0).getDescription());
+            List<String> countryCodes = env.postgreSqlUpdate(locale$)
+                    .set(locale$.nativeName, "Deutsch (DE)")
+                    .where(locale$.countryCode.eq("DE"))
+                    .addBatch()
+                    .set(locale$.nativeName, "English (US)")
+                    .where(locale$.countryCode.eq("US"))
+                    .addBatch()
+                    .executeReturning(locale$.countryCode)
+                    .collectList()
+                    .block();
+            Assertions.assertEquals(Arrays.asList("DE", "US"), countryCodes);
+        });
+    }
+
 }
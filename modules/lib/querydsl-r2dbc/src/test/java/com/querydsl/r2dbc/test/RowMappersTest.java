@@ -0,0 +1,176 @@
+package com.querydsl.r2dbc.test;
+
+import com.google.common.collect.ImmutableMap;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QTuple;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.r2dbc.EntityProjection;
+import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.RowMapper;
+import com.querydsl.r2dbc.RowMappers;
+import com.querydsl.r2dbc.test.env.schema.QLocale;
+import com.querydsl.r2dbc.test.env.schema.QUser;
+import com.querydsl.r2dbc.test.env.schema.SLocale;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.PostgreSQLTemplates;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RowMappersTest {
+
+    private static final QUser user$ = QUser.User;
+
+    private static final QLocale locale$ = QLocale.Locale;
+
+    @Test
+    public void nestedFactoryExpressionsAreFlattened() {
+        QTuple projection = Projections.tuple(user$.id, Projections.tuple(user$.personName, user$.disabled), user$.publicId);
+        Row row = row(1L, "name", true, null);
+        Tuple tuple = RowMappers.forProjection(projection).map(row, null);
+        Assertions.assertEquals(1L, tuple.get(user$.id));
+        Tuple nested = (Tuple) tuple.get(1, Object.class);
+        Assertions.assertEquals("name", nested.get(user$.personName));
+        Assertions.assertEquals(true, nested.get(user$.disabled));
+        Assertions.assertNull(tuple.get(user$.publicId));
+    }
+
+    @Test
+    public void beansAreCreatedWithTheirOwnBindings() {
+        Row row = row("en");
+        SLocale language = RowMappers.forProjection(Projections.bean(SLocale.class,
+                ImmutableMap.of("languageCode", locale$.languageCode))).map(row, null);
+        SLocale country = RowMappers.forProjection(Projections.bean(SLocale.class,
+                ImmutableMap.of("countryCode", locale$.languageCode))).map(row, null);
+        Assertions.assertEquals("en", language.getLanguageCode());
+        Assertions.assertNull(language.getCountryCode());
+        Assertions.assertEquals("en", country.getCountryCode());
+        Assertions.assertNull(country.getLanguageCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void entityIsProjectedWithPopulator() {
+        Expression<SLocale> projection = (Expression<SLocale>) new R2dbcQuery<Void>(null, new Configuration(new PostgreSQLTemplates()))
+                .select(locale$)
+                .getMetadata()
+                .getProjection();
+        Assertions.assertTrue(projection instanceof EntityProjection, projection.getClass().getName());
+        SLocale locale = RowMappers.forProjection(projection).map(row(localeValues(projection, "en", "US")), null);
+        Assertions.assertEquals("en", locale.getLanguageCode());
+        Assertions.assertEquals("US", locale.getCountryCode());
+        Assertions.assertNull(locale.getEnglishName());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void entitiesInTupleAreProjectedWithPopulator() {
+        Expression<Tuple> projection = (Expression<Tuple>) new R2dbcQuery<Void>(null, new Configuration(new PostgreSQLTemplates()))
+                .select(locale$, locale$.countryCode)
+                .getMetadata()
+                .getProjection();
+        Object[] values = Arrays.copyOf(localeValues(projection, "en", "US"), locale$.getColumns().size() + 1);
+        values[values.length - 1] = "GB";
+        Tuple tuple = RowMappers.forProjection(projection).map(row(values), null);
+        Assertions.assertEquals("US", tuple.get(locale$).getCountryCode());
+        Assertions.assertEquals("GB", tuple.get(locale$.countryCode));
+    }
+
+    @Test
+    public void wildcardMetadataIsResolvedOncePerResult() {
+        AtomicInteger resolved = new AtomicInteger();
+        RowMetadata metadata = metadata(resolved, Long.class, String.class);
+        RowMapper<Object[]> mapper = RowMappers.forProjection(Wildcard.all).forResult();
+        Assertions.assertArrayEquals(new Object[] {1L, "a"}, mapper.map(row(1L, "a"), metadata));
+        Assertions.assertArrayEquals(new Object[] {2L, "b"}, mapper.map(row(2L, "b"), metadata));
+        Assertions.assertEquals(1, resolved.get());
+        RowMappers.forProjection(Wildcard.all).forResult().map(row(3L, "c"), metadata);
+        Assertions.assertEquals(2, resolved.get());
+    }
+
+    private static Object[] localeValues(Expression<?> projection, String languageCode, String countryCode) {
+        List<Expression<?>> args = ((FactoryExpression<?>) projection).getArgs();
+        Object[] values = new Object[args.size()];
+        for (int i = 0; i < values.length; i++) {
+            if (args.get(i).equals(locale$.languageCode)) {
+                values[i] = languageCode;
+            } else if (args.get(i).equals(locale$.countryCode)) {
+                values[i] = countryCode;
+            }
+        }
+        return values;
+    }
+
+    private static RowMetadata metadata(AtomicInteger resolved, Class<?>... types) {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            String name = "c" + i;
+            Class<?> type = types[i];
+            columns.add(new ColumnMetadata() {
+
+                @Override
+                public Class<?> getJavaType() {
+                    return type;
+                }
+
+                @Override
+                public String getName() {
+                    return name;
+                }
+
+            });
+        }
+        return new RowMetadata() {
+
+            @Override
+            public ColumnMetadata getColumnMetadata(int index) {
+                return columns.get(index);
+            }
+
+            @Override
+            public ColumnMetadata getColumnMetadata(String name) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+                resolved.incrementAndGet();
+                return columns;
+            }
+
+            @Override
+            public Collection<String> getColumnNames() {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+    }
+
+    private static Row row(Object... values) {
+        return new Row() {
+
+            @Override
+            public <T> T get(int index, Class<T> type) {
+                return type.cast(values[index]);
+            }
+
+            @Override
+            public <T> T get(String name, Class<T> type) {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.querydsl.r2dbc.test;
+
+import com.querydsl.r2dbc.TransactionalR2dbcConnectionProvider;
+import com.querydsl.r2dbc.test.env.QueryDslTest;
+import com.querydsl.r2dbc.test.env.schema.QLocale;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static com.querydsl.r2dbc.test.env.QueryDslTestEnvironment.run;
+
+@QueryDslTest
+public class TransactionalR2dbcConnectionProviderTest {
+
+    private static final QLocale locale$ = QLocale.Locale;
+
+    @Test
+    public void transactionalCommit() {
+        run(env -> {
+            TransactionalR2dbcConnectionProvider provider = env.transactionalConnectionProvider();
+            Long count = provider.transactional(() -> env.transactionalInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .then(env.transactionalInsert(locale$)
+                            .set(locale$.countryCode, "UK")
+                            .set(locale$.languageCode, "en")
+                            .set(locale$.englishName, "English (UK)")
+                            .set(locale$.nativeName, "English")
+                            .execute())
+                    .then(env.transactionalQuery()
+                            .select(locale$.countryCode)
+                            .from(locale$)
+                            .fetchCount()))
+                    .single()
+                    .block();
+            Assertions.assertEquals(2L, count);
+            Assertions.assertEquals(2L, env.jdbcQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetchCount());
+        });
+    }
+
+    @Test
+    public void transactionalRollback() {
+        run(env -> {
+            TransactionalR2dbcConnectionProvider provider = env.transactionalConnectionProvider();
+            Mono<Long> inserted = provider.transactional(() -> env.transactionalInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .then(Mono.<Long>error(new IllegalStateException("Rollback"))))
+                    .single();
+            IllegalStateException error = Assertions.assertThrows(IllegalStateException.class, inserted::block);
+            Assertions.assertEquals("Rollback", error.getMessage());
+            Assertions.assertEquals(0L, env.jdbcQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetchCount());
+        });
+    }
+
+    @Test
+    public void withoutTransaction() {
+        run(env -> {
+            Long numRowsInserted = env.transactionalInsert(locale$)
+                    .set(locale$.countryCode, "US")
+                    .set(locale$.languageCode, "en")
+                    .set(locale$.englishName, "English (US)")
+                    .set(locale$.nativeName, "English")
+                    .execute()
+                    .block();
+            Assertions.assertEquals(1L, numRowsInserted);
+            Long count = env.transactionalQuery()
+                    .select(locale$.countryCode)
+                    .from(locale$)
+                    .fetchCount()
+                    .block();
+            Assertions.assertEquals(1L, count);
+            Mono<?> connection = env.transactionalConnectionProvider().getConnection();
+            Assertions.assertThrows(IllegalStateException.class, connection::block);
+        });
+    }
+
+}
@@ -4,6 +4,10 @@ import com.querydsl.r2dbc.R2dbcConnectionProvider;
 import com.querydsl.r2dbc.dml.R2dbcDeleteClause;
 import com.querydsl.r2dbc.dml.R2dbcInsertClause;
 import com.querydsl.r2dbc.dml.R2dbcUpdateClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcDeleteClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcInsertClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpdateClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpsertClause;
 import com.querydsl.sql.Configuration;
 import com.querydsl.sql.RelationalPath;
 
@@ -22,6 +26,16 @@ public class R2dbcClauseFactory {
         return new R2dbcInsertClause(connectionProvider, configuration, entity);
     }
 
+    public PostgreSqlR2dbcInsertClause createPostgreSqlInsertClause(RelationalPath<?> entity) {
+        Configuration configuration = configurationFactory.createConfiguration();
+        return new PostgreSqlR2dbcInsertClause(connectionProvider, configuration, entity);
+    }
+
+    public PostgreSqlR2dbcUpsertClause createPostgreSqlUpsertClause(RelationalPath<?> entity) {
+        Configuration configuration = configurationFactory.createConfiguration();
+        return new PostgreSqlR2dbcUpsertClause(connectionProvider, configuration, entity);
+    }
+
     public R2dbcUpdateClause createUpdateClause(RelationalPath<?> entity) {
         Configuration configuration = configurationFactory.createConfiguration();
         return new R2dbcUpdateClause(connectionProvider, configuration, entity);
@@ -32,4 +46,14 @@ public class R2dbcClauseFactory {
         return new R2dbcDeleteClause(connectionProvider, configuration, entity);
     }
 
+    public PostgreSqlR2dbcUpdateClause createPostgreSqlUpdateClause(RelationalPath<?> entity) {
+        Configuration configuration = configurationFactory.createConfiguration();
+        return new PostgreSqlR2dbcUpdateClause(connectionProvider, configuration, entity);
+    }
+
+    public PostgreSqlR2dbcDeleteClause createPostgreSqlDeleteClause(RelationalPath<?> entity) {
+        Configuration configuration = configurationFactory.createConfiguration();
+        return new PostgreSqlR2dbcDeleteClause(connectionProvider, configuration, entity);
+    }
+
 }
@@ -21,6 +21,10 @@ public class R2dbcConnectionFactory {
         return Mono.from(delegate.create());
     }
 
+    public ConnectionFactory getConnectionFactory() {
+        return delegate;
+    }
+
     private ConnectionFactory createConnectionFactory(@Nonnull DatabaseSystem databaseSystem) {
         return ConnectionFactories.get(
                 ConnectionFactoryOptions.builder()
@@ -2,6 +2,7 @@ package com.querydsl.r2dbc.test.env.factory;
 
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
 import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcQuery;
 import com.querydsl.sql.Configuration;
 
 public class R2dbcQueryFactory {
@@ -19,4 +20,9 @@ public class R2dbcQueryFactory {
         return new R2dbcQuery<>(connectionProvider, configuration);
     }
 
+    public <T> PostgreSqlR2dbcQuery<T> createPostgreSqlQuery() {
+        Configuration configuration = configurationFactory.createConfiguration();
+        return new PostgreSqlR2dbcQuery<>(connectionProvider, configuration);
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.querydsl.r2dbc.test.env.factory;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the SQL of the statements and the number of the open connections of the delegate.
+ */
+public class RecordingConnectionFactory implements ConnectionFactory {
+
+    private final ConnectionFactory delegate;
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final AtomicInteger maxOpenConnections = new AtomicInteger();
+
+    public RecordingConnectionFactory(ConnectionFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(connection -> {
+            maxOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+            return record(connection);
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public int getMaxOpenConnections() {
+        return maxOpenConnections.get();
+    }
+
+    private Connection record(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("createStatement")) {
+                        statements.add((String) args[0]);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                    if (method.getName().equals("close")) {
+                        return Mono.from((Publisher<?>) result).doFinally(signal -> openConnections.decrementAndGet());
+                    }
+                    return result;
+                });
+    }
+
+}
@@ -1,11 +1,19 @@
 package com.querydsl.r2dbc.test.env.runner;
 
 import com.querydsl.r2dbc.R2dbcConnectionProvider;
+import com.querydsl.r2dbc.R2dbcParallel;
+import com.querydsl.r2dbc.R2dbcPipeline;
 import com.querydsl.r2dbc.FixedR2dbcConnectionProvider;
 import com.querydsl.r2dbc.R2dbcQuery;
+import com.querydsl.r2dbc.TransactionalR2dbcConnectionProvider;
 import com.querydsl.r2dbc.dml.R2dbcDeleteClause;
 import com.querydsl.r2dbc.dml.R2dbcInsertClause;
 import com.querydsl.r2dbc.dml.R2dbcUpdateClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcDeleteClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcInsertClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcQuery;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpdateClause;
+import com.querydsl.r2dbc.postgresql.PostgreSqlR2dbcUpsertClause;
 import com.querydsl.sql.RelationalPath;
 import com.querydsl.sql.SQLQuery;
 import com.querydsl.sql.dml.SQLInsertClause;
@@ -39,7 +47,7 @@ public class TestRunner {
     public void run(Consumer<Environment> block) {
         java.sql.Connection jdbcConnection = jdbcConnectionFactory.createConnection();
         Connection connection = Objects.requireNonNull(connectionFactory.createConnection().block());
-        Environment environment = new Environment(jdbcConnection, connection);
+        Environment environment = new Environment(jdbcConnection, connection, connectionFactory);
         SchemaAlter schema = new SchemaAlter(environment);
         try {
             schema.create();
@@ -71,16 +79,27 @@ public class TestRunner {
 
         private final R2dbcQueryFactory queryFactory;
         private final R2dbcClauseFactory clauseFactory;
+        private final R2dbcConnectionProvider connectionProvider;
+
+        private final RecordingConnectionFactory transactionalConnectionFactory;
+        private final TransactionalR2dbcConnectionProvider transactionalConnectionProvider;
+        private final R2dbcQueryFactory transactionalQueryFactory;
+        private final R2dbcClauseFactory transactionalClauseFactory;
 
         private final JdbcQueryFactory jdbcQueryFactory;
         private final JdbcClauseFactory jdbcClauseFactory;
         private final java.sql.Connection jdbcConnection;
 
-        private Environment(java.sql.Connection jdbcConnection, Connection connection) {
+        private Environment(java.sql.Connection jdbcConnection, Connection connection, R2dbcConnectionFactory connectionFactory) {
             ConfigurationFactory configurationFactory = new ConfigurationFactory();
             R2dbcConnectionProvider connectionProvider = FixedR2dbcConnectionProvider.of(connection);
             this.queryFactory = new R2dbcQueryFactory(configurationFactory, connectionProvider);
             this.clauseFactory = new R2dbcClauseFactory(configurationFactory, connectionProvider);
+            this.connectionProvider = connectionProvider;
+            this.transactionalConnectionFactory = new RecordingConnectionFactory(connectionFactory.getConnectionFactory());
+            this.transactionalConnectionProvider = TransactionalR2dbcConnectionProvider.of(transactionalConnectionFactory);
+            this.transactionalQueryFactory = new R2dbcQueryFactory(configurationFactory, transactionalConnectionProvider);
+            this.transactionalClauseFactory = new R2dbcClauseFactory(configurationFactory, transactionalConnectionProvider);
             this.jdbcQueryFactory = new JdbcQueryFactory(configurationFactory, jdbcConnection);
             this.jdbcClauseFactory = new JdbcClauseFactory(configurationFactory, jdbcConnection);
             this.jdbcConnection = jdbcConnection;
@@ -99,11 +118,26 @@ public class TestRunner {
             return queryFactory.createQuery();
         }
 
+        public PostgreSqlR2dbcQuery<Object> postgreSqlQuery() {
+            // This class is under test.
+            return queryFactory.createPostgreSqlQuery();
+        }
+
         public R2dbcInsertClause insert(RelationalPath<?> entity) {
             // This class is under test.
             return clauseFactory.createInsertClause(entity);
         }
 
+        public PostgreSqlR2dbcInsertClause postgreSqlInsert(RelationalPath<?> entity) {
+            // This class is under test.
+            return clauseFactory.createPostgreSqlInsertClause(entity);
+        }
+
+        public PostgreSqlR2dbcUpsertClause postgreSqlUpsert(RelationalPath<?> entity) {
+            // This class is under test.
+            return clauseFactory.createPostgreSqlUpsertClause(entity);
+        }
+
         public R2dbcUpdateClause update(RelationalPath<?> entity) {
             // This class is under test.
             return clauseFactory.createUpdateClause(entity);
@@ -114,6 +148,55 @@ public class TestRunner {
             return clauseFactory.createDeleteClause(entity);
         }
 
+        public PostgreSqlR2dbcUpdateClause postgreSqlUpdate(RelationalPath<?> entity) {
+            // This class is under test.
+            return clauseFactory.createPostgreSqlUpdateClause(entity);
+        }
+
+        public PostgreSqlR2dbcDeleteClause postgreSqlDelete(RelationalPath<?> entity) {
+            // This class is under test.
+            return clauseFactory.createPostgreSqlDeleteClause(entity);
+        }
+
+        public R2dbcPipeline pipeline() {
+            // This class is under test.
+            return new R2dbcPipeline(connectionProvider);
+        }
+
+        public R2dbcPipeline transactionalPipeline() {
+            // This class is under test.
+            return new R2dbcPipeline(transactionalConnectionProvider);
+        }
+
+        public R2dbcParallel transactionalParallel(int maxConcurrency) {
+            // This class is under test.
+            return new R2dbcParallel(transactionalConnectionProvider, maxConcurrency);
+        }
+
+        public TransactionalR2dbcConnectionProvider transactionalConnectionProvider() {
+            // This class is under test.
+            return transactionalConnectionProvider;
+        }
+
+        public R2dbcQuery<Object> transactionalQuery() {
+            // This class is under test.
+            return transactionalQueryFactory.createQuery();
+        }
+
+        public PostgreSqlR2dbcQuery<Object> transactionalPostgreSqlQuery() {
+            // This class is under test.
+            return transactionalQueryFactory.createPostgreSqlQuery();
+        }
+
+        public RecordingConnectionFactory transactionalConnectionFactory() {
+            return transactionalConnectionFactory;
+        }
+
+        public R2dbcInsertClause transactionalInsert(RelationalPath<?> entity) {
+            // This class is under test.
+            return transactionalClauseFactory.createInsertClause(entity);
+        }
+
         public SQLQuery<Object> jdbcQuery() {
             // Already tested class.
             return jdbcQueryFactory.createQuery();